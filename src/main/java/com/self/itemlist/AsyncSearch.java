@@ -0,0 +1,101 @@
+package com.self.itemlist;
+
+import net.minecraft.client.MinecraftClient;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs overlay searches on a background thread. Each new request supersedes the previous one:
+ * older searches stop at their next cancellation check and only the newest result is handed
+ * back, on the client thread. Recent results are answered from a {@link SearchCache} without
+ * going to the background thread at all.
+ */
+public class AsyncSearch {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ItemList-Search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only touched from the search thread
+    private final SearchSession session = new SearchSession();
+    // Only touched from the client thread
+    private final SearchCache cache = new SearchCache(32);
+    private final AtomicLong latest = new AtomicLong();
+    private volatile long published = 0;
+    private final int rankedLimit;
+
+    /**
+     * @param rankedLimit how many results a ranked {@link FuzzySearch#PREFIX '~'} query returns
+     */
+    public AsyncSearch(int rankedLimit) {
+        this.rankedLimit = rankedLimit;
+    }
+
+    /**
+     * Searches for {@code query}, keeps the items that are in every one of {@code categories} and
+     * passes them to {@code onResult} on the client thread, unless a newer search was submitted in
+     * the meantime. Must be called on the client thread; a cache hit calls {@code onResult} right away.
+     */
+    public void submit(String query, Set<String> categories, Consumer<List<CustomItem>> onResult) {
+        long generation = latest.incrementAndGet();
+        BooleanSupplier cancelled = () -> latest.get() != generation;
+
+        List<CustomItem> cached = cache.get(query, categories, ItemRegistry.getCatalog());
+        if (cached != null) {
+            published = generation;
+            onResult.accept(cached);
+            ItemList.LOGGER.debug("Search '{}' answered from cache ({} hits, {} misses)", query, cache.getHits(), cache.getMisses());
+            return;
+        }
+
+        executor.execute(() -> {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                Catalog catalog = ItemRegistry.getCatalog();
+                List<CustomItem> results;
+                if (query.startsWith(FuzzySearch.PREFIX)) {
+                    // Filter first so the ranked results aren't thinned out afterwards
+                    List<CustomItem> pool = catalog.filterByCategories(catalog.getItems(), categories, cancelled);
+                    results = FuzzySearch.search(pool, query.substring(FuzzySearch.PREFIX.length()), rankedLimit, cancelled);
+                } else {
+                    List<CustomItem> matches = session.search(catalog, query, cancelled);
+                    results = catalog.filterByCategories(matches, categories, cancelled);
+                }
+                long elapsed = (System.nanoTime() - start) / 1_000;
+
+                MinecraftClient.getInstance().execute(() -> {
+                    if (!cancelled.getAsBoolean()) {
+                        published = generation;
+                        onResult.accept(cache.put(query, categories, catalog, results));
+                        ItemList.LOGGER.debug("Search '{}' finished in {} us with {} results", query, elapsed, results.size());
+                    }
+                });
+            } catch (CancellationException e) {
+                // Superseded by a newer search
+            } catch (Exception e) {
+                ItemList.LOGGER.error("Search for '{}' failed", query, e);
+            }
+        });
+    }
+
+    public SearchCache getCache() {
+        return cache;
+    }
+
+    /**
+     * True while a submitted search hasn't been published yet.
+     */
+    public boolean isPending() {
+        return published != latest.get();
+    }
+}
@@ -0,0 +1,129 @@
+package com.self.itemlist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable view of one loaded catalog. ItemRegistry publishes a new instance on every load or
+ * reload, so readers can share it freely and key caches on {@link #getVersion()}.
+ */
+public final class Catalog {
+    private static final AtomicLong NEXT_VERSION = new AtomicLong();
+
+    public static final Catalog EMPTY = new Catalog(List.of());
+
+    private final long version;
+    private final List<CustomItem> items;
+    private final Map<String, CustomItem> byId = new HashMap<>();
+    private final Map<String, CustomItem> byName = new HashMap<>();
+    private final Map<CustomItem, Integer> ordinals = new IdentityHashMap<>();
+    private final SearchIndex searchIndex;
+    private final CategoryIndex categoryIndex;
+    private final MaterialIndex materialIndex;
+
+    Catalog(List<CustomItem> items) {
+        this.version = NEXT_VERSION.getAndIncrement();
+        this.items = List.copyOf(items);
+        for (CustomItem item : this.items) {
+            // First entry wins, same as the old linear scan
+            if (byId.putIfAbsent(item.getId(), item) != null) {
+                ItemList.LOGGER.warn("Duplicate item id '{}', keeping the first definition", item.getId());
+            }
+            byName.putIfAbsent(item.getName(), item);
+        }
+        for (int i = 0; i < this.items.size(); i++) {
+            ordinals.putIfAbsent(this.items.get(i), i);
+        }
+        this.searchIndex = new SearchIndex(this.items);
+        this.categoryIndex = new CategoryIndex(this.items);
+        this.materialIndex = new MaterialIndex(this.items);
+    }
+
+    /**
+     * Increases every time a new catalog is published.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The items in file order. The list is unmodifiable and shared by all readers.
+     */
+    public List<CustomItem> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public CustomItem getById(String id) {
+        return byId.get(id);
+    }
+
+    public CustomItem getByName(String name) {
+        return byName.get(name);
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public CategoryIndex getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    public MaterialIndex getMaterialIndex() {
+        return materialIndex;
+    }
+
+    /**
+     * Position of {@code item} in {@link #getItems()}, or -1 if it isn't part of this catalog.
+     */
+    public int ordinalOf(CustomItem item) {
+        Integer ordinal = ordinals.get(item);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * The items of {@code candidates} that are in every one of {@code categories}, in the same
+     * order. Candidates from another catalog are dropped.
+     */
+    public List<CustomItem> filterByCategories(List<CustomItem> candidates, Collection<String> categories, BooleanSupplier cancelled) {
+        if (categories.isEmpty()) {
+            return candidates;
+        }
+        long[] bitmap = categoryIndex.itemsInAll(categories);
+        List<CustomItem> results = new ArrayList<>();
+        if (candidates == items) {
+            // Nothing narrowed the list yet, so read the matches straight off the bitmap
+            for (int w = 0; w < bitmap.length; w++) {
+                SearchIndex.checkCancelled(w << 4, cancelled);
+                long word = bitmap[w];
+                while (word != 0) {
+                    int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                    if (ordinal >= items.size()) {
+                        break;
+                    }
+                    results.add(items.get(ordinal));
+                    word &= word - 1;
+                }
+            }
+            return results;
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            SearchIndex.checkCancelled(i, cancelled);
+            CustomItem item = candidates.get(i);
+            if (CategoryIndex.contains(bitmap, ordinalOf(item))) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,44 @@
+package com.self.itemlist;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a hot reload changed, by item id. Changed entries hold the new instance, removed entries the old one.
+ */
+public class CatalogDiff {
+    private final List<CustomItem> added;
+    private final List<CustomItem> changed;
+    private final List<CustomItem> removed;
+
+    public CatalogDiff(List<CustomItem> added, List<CustomItem> changed, List<CustomItem> removed) {
+        this.added = added;
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    public List<CustomItem> getAdded() {
+        return added;
+    }
+
+    public List<CustomItem> getChanged() {
+        return changed;
+    }
+
+    public List<CustomItem> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    public Set<String> getAffectedIds() {
+        Set<String> ids = new HashSet<>();
+        for (CustomItem item : added) ids.add(item.getId());
+        for (CustomItem item : changed) ids.add(item.getId());
+        for (CustomItem item : removed) ids.add(item.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,132 @@
+package com.self.itemlist;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-time pool that makes identical strings and lore lists share one instance across the catalog.
+ * Catalog data is very repetitive (materials, rarity lines, obtain text), so this saves a lot of heap.
+ * A pool is kept across hot reloads so reloaded items share instances with the ones already loaded.
+ */
+public class CatalogInterner {
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<List<String>, List<String>> loreLists = new HashMap<>();
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public List<String> internLore(List<String> lore) {
+        List<String> pooled = loreLists.get(lore);
+        if (pooled == null) {
+            String[] lines = new String[lore.size()];
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = intern(lore.get(i));
+            }
+            pooled = List.of(lines);
+            loreLists.put(pooled, pooled);
+        }
+        return pooled;
+    }
+
+    /**
+     * Interns the given items in place against this pool and returns an estimate of their retained
+     * string and lore-list bytes before and after. Only pass items nothing else is reading yet.
+     */
+    public MemoryReport internItems(List<CustomItem> items) {
+        long before = estimateBytes(items);
+        for (CustomItem item : items) {
+            item.intern(this);
+        }
+        long after = estimateBytes(items);
+        return new MemoryReport(items.size(), before, after, strings.size(), loreLists.size());
+    }
+
+    // Rough HotSpot sizes with compressed oops: String 24 + byte[] 16 + payload, ArrayList 24 + Object[] 16 + 4/ref
+    private static long estimateBytes(List<CustomItem> items) {
+        IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<>();
+        long total = 0;
+        for (CustomItem item : items) {
+            total += stringBytes(item.getId(), seen);
+            total += stringBytes(item.getName(), seen);
+            total += stringBytes(item.getMaterial(), seen);
+            total += stringBytes(item.getDescription(), seen);
+            total += stringBytes(item.getObtain(), seen);
+            total += stringBytes(item.getCategory(), seen);
+            if (seen.put(item.getLore(), Boolean.TRUE) == null) {
+                total += 40 + 4L * item.getLore().size();
+            }
+            for (String line : item.getLore()) {
+                total += stringBytes(line, seen);
+            }
+            for (CustomItem.CraftingRecipe recipe : item.getRecipes()) {
+                for (CustomItem.RecipeIngredient[] row : recipe.getPattern()) {
+                    for (CustomItem.RecipeIngredient ingredient : row) {
+                        if (ingredient != null) {
+                            total += stringBytes(ingredient.getMaterial(), seen);
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long stringBytes(String value, IdentityHashMap<Object, Boolean> seen) {
+        if (value == null || seen.put(value, Boolean.TRUE) != null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        long payload = latin1 ? value.length() : 2L * value.length();
+        // Arrays are padded to 8 bytes
+        return 24 + ((16 + payload + 7) & ~7L);
+    }
+
+    public static class MemoryReport {
+        private final int itemCount;
+        private final long bytesBefore;
+        private final long bytesAfter;
+        private final int distinctStrings;
+        private final int distinctLoreLists;
+
+        MemoryReport(int itemCount, long bytesBefore, long bytesAfter, int distinctStrings, int distinctLoreLists) {
+            this.itemCount = itemCount;
+            this.bytesBefore = bytesBefore;
+            this.bytesAfter = bytesAfter;
+            this.distinctStrings = distinctStrings;
+            this.distinctLoreLists = distinctLoreLists;
+        }
+
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        public long getBytesBefore() {
+            return bytesBefore;
+        }
+
+        public long getBytesAfter() {
+            return bytesAfter;
+        }
+
+        public int getDistinctStrings() {
+            return distinctStrings;
+        }
+
+        public int getDistinctLoreLists() {
+            return distinctLoreLists;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d items, strings/lore %d KB -> %d KB (%d distinct strings, %d distinct lore lists)",
+                    itemCount, bytesBefore / 1024, bytesAfter / 1024, distinctStrings, distinctLoreLists);
+        }
+    }
+}
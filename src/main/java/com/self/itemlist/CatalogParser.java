@@ -0,0 +1,261 @@
+package com.self.itemlist;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming reader for items.json. Builds CustomItems straight from the token stream
+ * so the file is never held as a JsonObject tree next to the finished catalog.
+ */
+public class CatalogParser {
+
+    public static class Result {
+        private final List<CustomItem> items;
+        private final boolean hasItemsArray;
+        private final int failCount;
+        private final Set<String> seenIds;
+
+        Result(List<CustomItem> items, boolean hasItemsArray, int failCount, Set<String> seenIds) {
+            this.items = items;
+            this.hasItemsArray = hasItemsArray;
+            this.failCount = failCount;
+            this.seenIds = seenIds;
+        }
+
+        public List<CustomItem> getItems() {
+            return items;
+        }
+
+        public boolean hasItemsArray() {
+            return hasItemsArray;
+        }
+
+        public int getFailCount() {
+            return failCount;
+        }
+
+        /**
+         * Every id found in the items array, including the ids of entries that failed to load.
+         */
+        public Set<String> getSeenIds() {
+            return seenIds;
+        }
+    }
+
+    public static Result parse(Reader source) throws IOException {
+        JsonReader in = new JsonReader(source);
+        List<CustomItem> items = new ArrayList<>();
+        boolean hasItemsArray = false;
+        int failCount = 0;
+        Set<String> seenIds = new HashSet<>();
+
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new JsonParseException("items.json root must be an object but was " + in.peek());
+        }
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            if (!key.equals("items") || in.peek() != JsonToken.BEGIN_ARRAY) {
+                in.skipValue();
+                continue;
+            }
+
+            hasItemsArray = true;
+            in.beginArray();
+            int idx = 0;
+            while (in.hasNext()) {
+                try {
+                    if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                        JsonToken token = in.peek();
+                        in.skipValue();
+                        throw new JsonParseException("expected an object but was " + token);
+                    }
+                    items.add(readItem(in, seenIds));
+                } catch (JsonParseException e) {
+                    // The reader is always left after the bad entry, so the rest of the file still loads
+                    failCount++;
+                    ItemList.LOGGER.error("Failed to load item at index {}: {}", idx, e.getMessage());
+                }
+                idx++;
+            }
+            in.endArray();
+        }
+        in.endObject();
+
+        return new Result(items, hasItemsArray, failCount, seenIds);
+    }
+
+    /**
+     * Reads one item object. The whole object is always consumed, even when a field is
+     * invalid; problems are collected and reported once the object has been closed.
+     */
+    public static CustomItem readItem(JsonReader in) throws IOException {
+        return readItem(in, null);
+    }
+
+    private static CustomItem readItem(JsonReader in, Set<String> seenIds) throws IOException {
+        String id = null;
+        String name = null;
+        String material = null;
+        List<String> lore = new ArrayList<>();
+        String description = "";
+        String obtain = "No information available";
+        String category = "Misc";
+        List<CustomItem.RecipeIngredient[]> recipeRows = null;
+        int outputCount = 1;
+        List<String> errors = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            switch (field) {
+                case "id" -> id = readString(in, field, errors);
+                case "name" -> name = readString(in, field, errors);
+                case "material" -> material = readString(in, field, errors);
+                case "description" -> description = readString(in, field, errors);
+                case "obtain" -> obtain = readString(in, field, errors);
+                case "category" -> category = readString(in, field, errors);
+                case "lore" -> readLore(in, lore, errors);
+                case "recipe" -> recipeRows = readRecipeRows(in, errors);
+                case "outputCount" -> {
+                    String value = readString(in, field, errors);
+                    if (value != null) {
+                        try {
+                            outputCount = Integer.parseInt(value);
+                        } catch (NumberFormatException e) {
+                            errors.add("outputCount is not an integer: " + value);
+                        }
+                    }
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (seenIds != null && id != null) {
+            seenIds.add(id);
+        }
+        if (id == null) errors.add("missing id");
+        if (name == null) errors.add("missing name");
+        if (material == null) errors.add("missing material");
+        if (!errors.isEmpty()) {
+            throw new JsonParseException((id != null ? "'" + id + "': " : "") + String.join(", ", errors));
+        }
+
+        CustomItem item = new CustomItem(id, name, material, lore, description, obtain, category);
+        if (recipeRows != null && !recipeRows.isEmpty()) {
+            item.addRecipe(new CustomItem.CraftingRecipe(toPattern(recipeRows), outputCount));
+        }
+        return item;
+    }
+
+    private static String readString(JsonReader in, String field, List<String> errors) throws IOException {
+        JsonToken token = in.peek();
+        switch (token) {
+            case STRING:
+            case NUMBER:
+                return in.nextString();
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                in.skipValue();
+                errors.add(field + " should be a string but was " + token);
+                return null;
+        }
+    }
+
+    private static void readLore(JsonReader in, List<String> lore, List<String> errors) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            errors.add("lore should be an array but was " + in.peek());
+            in.skipValue();
+            return;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            String line = readString(in, "lore line", errors);
+            if (line != null) {
+                lore.add(line);
+            }
+        }
+        in.endArray();
+    }
+
+    private static List<CustomItem.RecipeIngredient[]> readRecipeRows(JsonReader in, List<String> errors) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            errors.add("recipe should be an array but was " + in.peek());
+            in.skipValue();
+            return null;
+        }
+        List<CustomItem.RecipeIngredient[]> rows = new ArrayList<>();
+        List<CustomItem.RecipeIngredient> row = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                errors.add("recipe row should be an array but was " + in.peek());
+                in.skipValue();
+                continue;
+            }
+            row.clear();
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    row.add(null);
+                    continue;
+                }
+                String cell = readString(in, "recipe cell", errors);
+                row.add(cell == null || cell.isEmpty() ? null : parseIngredient(cell));
+            }
+            in.endArray();
+            rows.add(row.toArray(new CustomItem.RecipeIngredient[0]));
+        }
+        in.endArray();
+        return rows;
+    }
+
+    // Rows may be ragged in the file; pad them out to the widest row
+    private static CustomItem.RecipeIngredient[][] toPattern(List<CustomItem.RecipeIngredient[]> rows) {
+        int maxCols = 0;
+        for (CustomItem.RecipeIngredient[] row : rows) {
+            maxCols = Math.max(maxCols, row.length);
+        }
+        CustomItem.RecipeIngredient[][] pattern = new CustomItem.RecipeIngredient[rows.size()][maxCols];
+        for (int r = 0; r < rows.size(); r++) {
+            CustomItem.RecipeIngredient[] row = rows.get(r);
+            System.arraycopy(row, 0, pattern[r], 0, row.length);
+        }
+        return pattern;
+    }
+
+    /**
+     * Parses a recipe cell in the form "material:count" or just "material".
+     * Handles minecraft:item_name vs minecraft:item_name:count.
+     */
+    public static CustomItem.RecipeIngredient parseIngredient(String cellValue) {
+        String ingredientMaterial = cellValue;
+        int count = 1;
+
+        // Check if there's a count at the end (last colon)
+        int lastColon = cellValue.lastIndexOf(':');
+        if (lastColon != -1 && lastColon < cellValue.length() - 1) {
+            try {
+                count = Integer.parseInt(cellValue.substring(lastColon + 1));
+                ingredientMaterial = cellValue.substring(0, lastColon);
+            } catch (NumberFormatException e) {
+                // Not a count, it's part of the material name
+                count = 1;
+            }
+        }
+
+        return new CustomItem.RecipeIngredient(ingredientMaterial, count);
+    }
+}
@@ -0,0 +1,134 @@
+package com.self.itemlist;
+
+import net.fabricmc.loader.api.FabricLoader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads extra catalog files from config/itemlist/items.d. Each *.json shard has the same
+ * layout as items.json. Shards are parsed in parallel and merged in file name order.
+ */
+public class CatalogShards {
+
+    public static class ShardResult {
+        private final String name;
+        private final List<CustomItem> items;
+        private final int failCount;
+        private final String error;
+        private final List<String> duplicateIds = new ArrayList<>();
+
+        ShardResult(String name, List<CustomItem> items, int failCount, String error) {
+            this.name = name;
+            this.items = items;
+            this.failCount = failCount;
+            this.error = error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<CustomItem> getItems() {
+            return items;
+        }
+
+        public int getFailCount() {
+            return failCount;
+        }
+
+        /**
+         * Set when the shard couldn't be read at all; its items are then skipped entirely.
+         */
+        public String getError() {
+            return error;
+        }
+
+        public List<String> getDuplicateIds() {
+            return duplicateIds;
+        }
+    }
+
+    public static Path getShardDir() {
+        return FabricLoader.getInstance().getConfigDir().resolve("itemlist").resolve("items.d");
+    }
+
+    /**
+     * Appends the items of every shard to {@code base}. Ids already defined by {@code base} or by
+     * an earlier shard are dropped and reported, so the result does not depend on parse timing.
+     */
+    public static List<ShardResult> loadInto(List<CustomItem> base) {
+        Path dir = getShardDir();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().endsWith(".json") && Files.isRegularFile(path))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            ItemList.LOGGER.error("Failed to list catalog shards in {}", dir, e);
+            return List.of();
+        }
+        if (files.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        // Parallel stream over an ordered list keeps results in file order
+        List<ShardResult> results = files.parallelStream()
+                .map(CatalogShards::parseShard)
+                .collect(Collectors.toList());
+
+        Map<String, String> owners = new HashMap<>();
+        for (CustomItem item : base) {
+            owners.putIfAbsent(item.getId(), "items.json");
+        }
+        for (ShardResult shard : results) {
+            for (CustomItem item : shard.items) {
+                String owner = owners.putIfAbsent(item.getId(), shard.name);
+                if (owner != null) {
+                    shard.duplicateIds.add(item.getId());
+                    ItemList.LOGGER.warn("Shard {} redefines item '{}' already defined in {}, ignoring it", shard.name, item.getId(), owner);
+                } else {
+                    base.add(item);
+                }
+            }
+        }
+
+        ItemList.LOGGER.info("Loaded {} catalog shards in {} ms:", results.size(), (System.nanoTime() - start) / 1_000_000);
+        for (ShardResult shard : results) {
+            if (shard.error != null) {
+                ItemList.LOGGER.error("  - {}: FAILED ({})", shard.name, shard.error);
+            } else {
+                ItemList.LOGGER.info("  - {}: {} items, {} failed, {} duplicate ids",
+                        shard.name, shard.items.size() - shard.duplicateIds.size(), shard.failCount, shard.duplicateIds.size());
+            }
+        }
+        return results;
+    }
+
+    private static ShardResult parseShard(Path file) {
+        String name = file.getFileName().toString();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            CatalogParser.Result result = CatalogParser.parse(reader);
+            if (!result.hasItemsArray()) {
+                return new ShardResult(name, List.of(), 0, "missing 'items' array");
+            }
+            return new ShardResult(name, result.getItems(), result.getFailCount(), null);
+        } catch (Exception e) {
+            return new ShardResult(name, List.of(), 0, e.toString());
+        }
+    }
+}
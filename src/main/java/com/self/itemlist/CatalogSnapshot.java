@@ -0,0 +1,213 @@
+package com.self.itemlist;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary copy of a parsed catalog, stored next to the config so later launches can skip JSON parsing.
+ *
+ * Layout: magic, format version, SHA-256 of the source JSON, a string table with every distinct
+ * string once, the item table (fields as string indexes) and a flat recipe table pointing back
+ * at item ordinals. The id index is not stored; it is rebuilt from item order on load.
+ */
+public class CatalogSnapshot {
+    private static final int MAGIC = 0x494C4354; // "ILCT"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+
+    public static byte[] hashFile(Path source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            byte[] buffer = new byte[64 * 1024];
+            while (in.read(buffer) != -1) {
+                // digest is updated as we read
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Returns the items stored in the snapshot, or null when there is no snapshot, it was built
+     * from different source content, or it can't be read.
+     */
+    public static List<CustomItem> read(Path snapshotFile, byte[] sourceHash) {
+        if (!Files.exists(snapshotFile)) {
+            return null;
+        }
+
+        try {
+            // Read onto the heap rather than mapping: a live mapping keeps the file locked on
+            // Windows, and write() has to replace it later
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION) {
+                ItemList.LOGGER.info("Ignoring catalog snapshot with unknown format: {}", snapshotFile);
+                return null;
+            }
+            byte[] storedHash = new byte[HASH_LENGTH];
+            buf.get(storedHash);
+            if (!Arrays.equals(storedHash, sourceHash)) {
+                ItemList.LOGGER.info("Catalog snapshot is stale, source JSON has changed");
+                return null;
+            }
+
+            String[] strings = new String[buf.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buf.getInt()];
+                buf.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int itemCount = buf.getInt();
+            List<CustomItem> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                String id = strings[buf.getInt()];
+                String name = strings[buf.getInt()];
+                String material = strings[buf.getInt()];
+                String description = strings[buf.getInt()];
+                String obtain = strings[buf.getInt()];
+                String category = strings[buf.getInt()];
+                int loreCount = buf.getInt();
+                List<String> lore = new ArrayList<>(loreCount);
+                for (int l = 0; l < loreCount; l++) {
+                    lore.add(strings[buf.getInt()]);
+                }
+                items.add(new CustomItem(id, name, material, lore, description, obtain, category));
+            }
+
+            int recipeCount = buf.getInt();
+            for (int i = 0; i < recipeCount; i++) {
+                CustomItem owner = items.get(buf.getInt());
+                int rows = buf.getInt();
+                int cols = buf.getInt();
+                int outputCount = buf.getInt();
+                CustomItem.RecipeIngredient[][] pattern = new CustomItem.RecipeIngredient[rows][cols];
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        int materialIdx = buf.getInt();
+                        int count = buf.getInt();
+                        if (materialIdx >= 0) {
+                            pattern[r][c] = new CustomItem.RecipeIngredient(strings[materialIdx], count);
+                        }
+                    }
+                }
+                owner.addRecipe(new CustomItem.CraftingRecipe(pattern, outputCount));
+            }
+
+            return items;
+        } catch (Exception e) {
+            ItemList.LOGGER.warn("Failed to read catalog snapshot {}, falling back to JSON", snapshotFile, e);
+            return null;
+        }
+    }
+
+    public static void write(Path snapshotFile, byte[] sourceHash, List<CustomItem> items) {
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int recipeCount = 0;
+        for (CustomItem item : items) {
+            intern(item.getId(), stringIndex, strings);
+            intern(item.getName(), stringIndex, strings);
+            intern(item.getMaterial(), stringIndex, strings);
+            intern(item.getDescription(), stringIndex, strings);
+            intern(item.getObtain(), stringIndex, strings);
+            intern(item.getCategory(), stringIndex, strings);
+            for (String line : item.getLore()) {
+                intern(line, stringIndex, strings);
+            }
+            for (CustomItem.CraftingRecipe recipe : item.getRecipes()) {
+                recipeCount++;
+                for (CustomItem.RecipeIngredient[] row : recipe.getPattern()) {
+                    for (CustomItem.RecipeIngredient ingredient : row) {
+                        if (ingredient != null) {
+                            intern(ingredient.getMaterial(), stringIndex, strings);
+                        }
+                    }
+                }
+            }
+        }
+
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.write(sourceHash);
+
+                out.writeInt(strings.size());
+                for (String value : strings) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+
+                out.writeInt(items.size());
+                for (CustomItem item : items) {
+                    out.writeInt(stringIndex.get(item.getId()));
+                    out.writeInt(stringIndex.get(item.getName()));
+                    out.writeInt(stringIndex.get(item.getMaterial()));
+                    out.writeInt(stringIndex.get(item.getDescription()));
+                    out.writeInt(stringIndex.get(item.getObtain()));
+                    out.writeInt(stringIndex.get(item.getCategory()));
+                    out.writeInt(item.getLore().size());
+                    for (String line : item.getLore()) {
+                        out.writeInt(stringIndex.get(line));
+                    }
+                }
+
+                out.writeInt(recipeCount);
+                for (int i = 0; i < items.size(); i++) {
+                    for (CustomItem.CraftingRecipe recipe : items.get(i).getRecipes()) {
+                        out.writeInt(i);
+                        out.writeInt(recipe.getRows());
+                        out.writeInt(recipe.getCols());
+                        out.writeInt(recipe.getOutputCount());
+                        for (CustomItem.RecipeIngredient[] row : recipe.getPattern()) {
+                            for (int c = 0; c < recipe.getCols(); c++) {
+                                CustomItem.RecipeIngredient ingredient = c < row.length ? row[c] : null;
+                                out.writeInt(ingredient != null ? stringIndex.get(ingredient.getMaterial()) : -1);
+                                out.writeInt(ingredient != null ? ingredient.getCount() : 0);
+                            }
+                        }
+                    }
+                }
+            }
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            ItemList.LOGGER.info("Wrote catalog snapshot ({} items, {} strings) to {}", items.size(), strings.size(), snapshotFile);
+        } catch (Exception e) {
+            ItemList.LOGGER.warn("Failed to write catalog snapshot {}", snapshotFile, e);
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void intern(String value, Map<String, Integer> stringIndex, List<String> strings) {
+        if (!stringIndex.containsKey(value)) {
+            stringIndex.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+}
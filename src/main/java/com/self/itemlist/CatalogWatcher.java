@@ -0,0 +1,134 @@
+package com.self.itemlist;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+
+/**
+ * Watches config/itemlist for edits to items.json or the items.d shards and reloads the catalog
+ * in the background. Reloads read {@link ItemRegistry#getCatalogSource()}, so creating the config
+ * items.json switches the catalog over to it, and shard edits apply on top of the bundled file
+ * while there is none.
+ */
+public class CatalogWatcher {
+    // Editors often save in several writes; wait for the file to settle before re-parsing
+    private static final long SETTLE_MILLIS = 250;
+
+    private static final int ITEMS_CHANGED = 1;
+    private static final int SHARDS_CHANGED = 2;
+
+    private static WatchService watchService = null;
+    private static Thread thread = null;
+
+    public static synchronized void start(Consumer<CatalogDiff> onReload) {
+        if (thread != null) {
+            return;
+        }
+
+        File itemsFile = ItemRegistry.getConfigItemsFile();
+        Path dir = itemsFile.toPath().getParent();
+        Path shardDir = CatalogShards.getShardDir();
+        try {
+            Files.createDirectories(dir);
+            watchService = FileSystems.getDefault().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            if (Files.isDirectory(shardDir)) {
+                registerShardDir(watchService, shardDir);
+            }
+        } catch (IOException e) {
+            ItemList.LOGGER.error("Failed to watch {} for changes, hot reload disabled", dir, e);
+            return;
+        }
+
+        WatchService service = watchService;
+        thread = new Thread(() -> watchLoop(service, itemsFile, shardDir, onReload), "ItemList-Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        ItemList.LOGGER.info("Watching {} for changes", itemsFile.getAbsolutePath());
+    }
+
+    public static synchronized void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+        }
+        watchService = null;
+        thread = null;
+    }
+
+    private static void watchLoop(WatchService service, File itemsFile, Path shardDir, Consumer<CatalogDiff> onReload) {
+        String fileName = itemsFile.getName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                int changes = classify(key, service, fileName, shardDir);
+                key.reset();
+                if (changes == 0) {
+                    continue;
+                }
+
+                // Swallow the burst of events from a single save
+                Thread.sleep(SETTLE_MILLIS);
+                WatchKey pending;
+                while ((pending = service.poll()) != null) {
+                    changes |= classify(pending, service, fileName, shardDir);
+                    pending.reset();
+                }
+                boolean shardsChanged = (changes & SHARDS_CHANGED) != 0;
+
+                CatalogDiff diff = ItemRegistry.reloadItems(shardsChanged);
+                if (diff != null && !diff.isEmpty()) {
+                    onReload.accept(diff);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Drains the key's events and reports what they touch: {@link #ITEMS_CHANGED} for items.json,
+     * {@link #SHARDS_CHANGED} for a shard. A newly created items.d is registered here, and counts
+     * as a shard change so the shards already in it are loaded.
+     */
+    private static int classify(WatchKey key, WatchService service, String fileName, Path shardDir) {
+        boolean shardKey = key.watchable() instanceof Path path && path.equals(shardDir);
+        int changes = 0;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (!(event.context() instanceof Path path)) {
+                continue;
+            }
+            String name = path.getFileName().toString();
+            if (shardKey) {
+                if (name.endsWith(".json")) {
+                    changes |= SHARDS_CHANGED;
+                }
+            } else if (name.equals(fileName)) {
+                changes |= ITEMS_CHANGED;
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && name.equals(shardDir.getFileName().toString())) {
+                registerShardDir(service, shardDir);
+                changes |= SHARDS_CHANGED;
+            }
+        }
+        return changes;
+    }
+
+    private static void registerShardDir(WatchService service, Path shardDir) {
+        try {
+            shardDir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            ItemList.LOGGER.error("Failed to watch {} for changes", shardDir, e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.self.itemlist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Category membership of one catalog as bitsets. Every distinct category word gets an ordinal;
+ * each category keeps a bitmap over item ordinals and each item keeps a bitmask over category
+ * ordinals, so "all of these filters" is a word-wise AND instead of re-splitting category strings.
+ */
+public class CategoryIndex {
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final Map<String, Integer> lowerCaseOrdinals = new HashMap<>();
+    private final int itemCount;
+    private final int categoryWords;
+    // categoryWords longs per item, flattened
+    private final long[] itemMasks;
+    // One bitmap over item ordinals per category ordinal
+    private final long[][] bitmaps;
+
+    CategoryIndex(List<CustomItem> items) {
+        this.itemCount = items.size();
+        int[][] itemCategories = new int[itemCount][];
+        for (int i = 0; i < itemCount; i++) {
+            itemCategories[i] = assignOrdinals(items.get(i).getCategory());
+        }
+
+        this.categoryWords = Math.max(1, (categories.size() + 63) >>> 6);
+        this.itemMasks = new long[itemCount * categoryWords];
+        this.bitmaps = new long[categories.size()][(itemCount + 63) >>> 6];
+        for (int i = 0; i < itemCount; i++) {
+            for (int category : itemCategories[i]) {
+                itemMasks[i * categoryWords + (category >>> 6)] |= 1L << category;
+                bitmaps[category][i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    private int[] assignOrdinals(String category) {
+        if (category == null || category.isEmpty()) {
+            return new int[0];
+        }
+        String[] words = category.split(",");
+        int[] result = new int[words.length];
+        int size = 0;
+        for (String word : words) {
+            String trimmed = word.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Integer ordinal = ordinals.get(trimmed);
+            if (ordinal == null) {
+                ordinal = categories.size();
+                ordinals.put(trimmed, ordinal);
+                lowerCaseOrdinals.putIfAbsent(trimmed.toLowerCase(Locale.ROOT), ordinal);
+                categories.add(trimmed);
+            }
+            result[size++] = ordinal;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Every category word in the order it first appears in the catalog.
+     */
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Ordinal of a category, ignoring case, or -1 if no item has it.
+     */
+    public int find(String name) {
+        Integer ordinal = ordinals.get(name);
+        if (ordinal == null) {
+            ordinal = lowerCaseOrdinals.get(name.toLowerCase(Locale.ROOT));
+        }
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * True if the item at {@code itemOrdinal} is in the category with {@code categoryOrdinal}.
+     */
+    public boolean has(int itemOrdinal, int categoryOrdinal) {
+        return itemOrdinal >= 0 && categoryOrdinal >= 0
+                && (itemMasks[itemOrdinal * categoryWords + (categoryOrdinal >>> 6)] & (1L << categoryOrdinal)) != 0;
+    }
+
+    /**
+     * Sorted ordinals of the items in the category with {@code categoryOrdinal}.
+     */
+    public int[] itemsIn(int categoryOrdinal) {
+        long[] bitmap = bitmaps[categoryOrdinal];
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        int[] result = new int[count];
+        int size = 0;
+        for (int w = 0; w < bitmap.length; w++) {
+            for (long word = bitmap[w]; word != 0; word &= word - 1) {
+                result[size++] = (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bitmask over category ordinals for the given names, for {@link #hasAll}. Returns null when
+     * one of them doesn't occur in this catalog, in which case no item can have all of them.
+     */
+    public long[] categoryMask(Collection<String> names) {
+        long[] mask = new long[categoryWords];
+        for (String name : names) {
+            Integer ordinal = ordinals.get(name);
+            if (ordinal == null) {
+                return null;
+            }
+            mask[ordinal >>> 6] |= 1L << ordinal;
+        }
+        return mask;
+    }
+
+    /**
+     * True if the item at {@code itemOrdinal} is in every category of {@code mask}.
+     */
+    public boolean hasAll(int itemOrdinal, long[] mask) {
+        if (mask == null || itemOrdinal < 0) {
+            return false;
+        }
+        int base = itemOrdinal * categoryWords;
+        for (int w = 0; w < categoryWords; w++) {
+            if ((itemMasks[base + w] & mask[w]) != mask[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bitmap over item ordinals of the items that are in every one of {@code names}.
+     */
+    public long[] itemsInAll(Collection<String> names) {
+        long[] result = new long[(itemCount + 63) >>> 6];
+        boolean first = true;
+        for (String name : names) {
+            Integer ordinal = ordinals.get(name);
+            if (ordinal == null) {
+                return new long[result.length];
+            }
+            long[] bitmap = bitmaps[ordinal];
+            if (first) {
+                System.arraycopy(bitmap, 0, result, 0, result.length);
+                first = false;
+            } else {
+                for (int w = 0; w < result.length; w++) {
+                    result[w] &= bitmap[w];
+                }
+            }
+        }
+        if (first) {
+            // No categories given, so nothing is excluded
+            Arrays.fill(result, -1L);
+        }
+        return result;
+    }
+
+    public static boolean contains(long[] bitmap, int ordinal) {
+        return ordinal >= 0 && (bitmap[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+}
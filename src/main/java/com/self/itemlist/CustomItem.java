@@ -1,5 +1,6 @@
 package com.self.itemlist;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.registry.Registries;
@@ -17,6 +18,17 @@ public class CustomItem {
     private String obtain;
     private String category;
     private List<CraftingRecipe> recipes;
+    // Registry item for material, resolved once; null until resolve() runs
+    private Item resolvedItem;
+    // Shared count-1 stack for drawing, built on first use
+    private ItemStack displayStack;
+    // Normalized search keys (see SearchText), computed when the catalog's search index is built
+    private String nameKey;
+    private String fullTextKey;
+    // SearchText.charMask of the name key and of the rest of the full-text key, for FuzzySearch
+    private long nameCharMask;
+    private long textCharMask;
+    private boolean charMasksReady;
 
     public CustomItem(String id, String name, String material, List<String> lore, String description, String obtain, String category) {
         this.id = id;
@@ -61,22 +73,157 @@ public class CustomItem {
         return recipes;
     }
 
+    /**
+     * Name with formatting codes stripped, accents folded and lower-cased.
+     */
+    public String getNameKey() {
+        String key = nameKey;
+        if (key == null) {
+            key = SearchText.normalize(name);
+            nameKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Normalized name, description and lore lines joined with {@link SearchText#FIELD_SEPARATOR}.
+     */
+    public String getFullTextKey() {
+        String key = fullTextKey;
+        if (key == null) {
+            key = SearchText.fullTextKey(getNameKey(), description, lore);
+            fullTextKey = key;
+        }
+        return key;
+    }
+
+    public long getNameCharMask() {
+        computeCharMasks();
+        return nameCharMask;
+    }
+
+    /**
+     * Character mask of the description and lore part of {@link #getFullTextKey()}.
+     */
+    public long getTextCharMask() {
+        computeCharMasks();
+        return textCharMask;
+    }
+
+    private void computeCharMasks() {
+        if (!charMasksReady) {
+            nameCharMask = SearchText.charMask(getNameKey(), 0);
+            textCharMask = SearchText.charMask(getFullTextKey(), getNameKey().length() + 1);
+            charMasksReady = true;
+        }
+    }
+
     public void addRecipe(CraftingRecipe recipe) {
         this.recipes.add(recipe);
     }
 
     public ItemStack toItemStack() {
+        return getDisplayStack().copy();
+    }
+
+    /**
+     * Count-1 stack for rendering, shared between all callers and frames. Never modify it;
+     * use {@link #toItemStack()} for a stack you can change.
+     */
+    public ItemStack getDisplayStack() {
+        ItemStack stack = displayStack;
+        if (stack == null) {
+            if (resolvedItem == null) {
+                resolve();
+            }
+            if (resolvedItem == Items.BARRIER) {
+                stack = new ItemStack(Items.BARRIER);
+            } else {
+                stack = new ItemStack(resolvedItem);
+                stack.set(net.minecraft.component.DataComponentTypes.CUSTOM_NAME, Text.literal(name));
+            }
+            displayStack = stack;
+        }
+        return stack;
+    }
+
+    /**
+     * True once {@link #resolve()} has run for this instance.
+     */
+    public boolean isResolved() {
+        return resolvedItem != null;
+    }
+
+    /**
+     * Looks up the material and any vanilla recipe ingredients in the item registry. Materials that
+     * don't exist resolve to a barrier. Returns false if the item's own material is unknown.
+     */
+    public boolean resolve() {
+        Item item = lookupItem(material);
+        resolvedItem = item != null ? item : Items.BARRIER;
+        displayStack = null;
+        for (CraftingRecipe recipe : recipes) {
+            for (RecipeIngredient[] row : recipe.pattern) {
+                for (RecipeIngredient ingredient : row) {
+                    if (ingredient != null) {
+                        ingredient.resolve();
+                    }
+                }
+            }
+        }
+        return item != null;
+    }
+
+    static Item lookupItem(String material) {
         try {
             Identifier itemId = Identifier.tryParse(material);
             if (itemId != null && Registries.ITEM.containsId(itemId)) {
-                ItemStack stack = new ItemStack(Registries.ITEM.get(itemId));
-                stack.set(net.minecraft.component.DataComponentTypes.CUSTOM_NAME, Text.literal(name));
-                return stack;
+                return Registries.ITEM.get(itemId);
             }
         } catch (Exception e) {
-            ItemList.LOGGER.error("Failed to create ItemStack for: " + material, e);
+            ItemList.LOGGER.error("Failed to resolve item: " + material, e);
         }
-        return new ItemStack(Items.BARRIER);
+        return null;
+    }
+
+    /**
+     * Swaps this item's strings and lore list for the pooled instances.
+     */
+    void intern(CatalogInterner interner) {
+        id = interner.intern(id);
+        name = interner.intern(name);
+        material = interner.intern(material);
+        lore = interner.internLore(lore);
+        description = interner.intern(description);
+        obtain = interner.intern(obtain);
+        category = interner.intern(category);
+        for (CraftingRecipe recipe : recipes) {
+            for (RecipeIngredient[] row : recipe.pattern) {
+                for (RecipeIngredient ingredient : row) {
+                    if (ingredient != null) {
+                        ingredient.material = interner.intern(ingredient.material);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * True when every field and recipe matches, used to tell which entries a reload actually changed.
+     */
+    public boolean hasSameContent(CustomItem other) {
+        if (!id.equals(other.id) || !name.equals(other.name) || !material.equals(other.material)
+                || !lore.equals(other.lore) || !description.equals(other.description)
+                || !obtain.equals(other.obtain) || !category.equals(other.category)
+                || recipes.size() != other.recipes.size()) {
+            return false;
+        }
+        for (int i = 0; i < recipes.size(); i++) {
+            if (!recipes.get(i).hasSameContent(other.recipes.get(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public boolean matchesSearch(String query) {
@@ -131,12 +278,33 @@ public class CustomItem {
         public int getOutputCount() {
             return outputCount;
         }
+
+        public boolean hasSameContent(CraftingRecipe other) {
+            if (rows != other.rows || cols != other.cols || outputCount != other.outputCount) {
+                return false;
+            }
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    RecipeIngredient a = pattern[r][c];
+                    RecipeIngredient b = other.pattern[r][c];
+                    if (a == null || b == null) {
+                        if (a != b) return false;
+                    } else if (a.count != b.count || !a.material.equals(b.material)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
     }
 
     public static class RecipeIngredient {
         private String material;
         private int count;
         private boolean isCustomItem;
+        // Registry item for vanilla ingredients, resolved once; null until resolve() runs
+        private Item resolvedItem;
+        private ItemStack displayStack;
 
         public RecipeIngredient(String material, int count) {
             this.material = material;
@@ -158,26 +326,57 @@ public class CustomItem {
         }
 
         public ItemStack toItemStack() {
-            try {
-                if (isCustomItem) {
-                    // Look up custom item by ID
-                    CustomItem customItem = ItemRegistry.getItemById(material);
-                    if (customItem != null) {
-                        ItemStack stack = customItem.toItemStack();
-                        stack.setCount(count);
-                        return stack;
-                    }
-                } else {
-                    Identifier itemId = Identifier.tryParse(material);
-                    if (itemId != null && Registries.ITEM.containsId(itemId)) {
-                        ItemStack stack = new ItemStack(Registries.ITEM.get(itemId), count);
-                        return stack;
-                    }
+            if (isCustomItem) {
+                // Look up custom item by ID; not cached so reloads are picked up
+                CustomItem customItem = ItemRegistry.getItemById(material);
+                if (customItem != null) {
+                    ItemStack stack = customItem.toItemStack();
+                    stack.setCount(count);
+                    return stack;
                 }
-            } catch (Exception e) {
-                ItemList.LOGGER.error("Failed to create ItemStack for recipe ingredient: " + material, e);
+                return new ItemStack(Items.BARRIER, count);
+            }
+            if (resolvedItem == null) {
+                resolve();
+            }
+            return new ItemStack(resolvedItem, count);
+        }
+
+        /**
+         * Count-1 stack for rendering. Custom ingredients return their item's shared display stack,
+         * vanilla ones a stack cached here. Never modify it.
+         */
+        public ItemStack getDisplayStack() {
+            if (isCustomItem) {
+                CustomItem customItem = ItemRegistry.getItemById(material);
+                if (customItem != null) {
+                    return customItem.getDisplayStack();
+                }
+            }
+            ItemStack stack = displayStack;
+            if (stack == null) {
+                if (resolvedItem == null) {
+                    resolve();
+                }
+                // Unknown custom ids fall through to a barrier, like toItemStack()
+                stack = new ItemStack(isCustomItem ? Items.BARRIER : resolvedItem);
+                displayStack = stack;
+            }
+            return stack;
+        }
+
+        /**
+         * Resolves a vanilla ingredient against the item registry. Returns false if it doesn't exist.
+         * Custom ingredients are looked up by id when drawn and always return true here.
+         */
+        public boolean resolve() {
+            if (isCustomItem) {
+                return true;
             }
-            return new ItemStack(Items.BARRIER, count);
+            Item item = lookupItem(material);
+            resolvedItem = item != null ? item : Items.BARRIER;
+            displayStack = null;
+            return item != null;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.self.itemlist;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Ranked, typo-tolerant search. Every word of the query has to match the item's name or, with a
+ * lower weight, its description or lore: as a substring, as an in-order abbreviation starting at
+ * a word ("swd" for "sword"), or within one typo of a word. Only the best {@code limit} items are
+ * kept, in a bounded heap, so ranking a big catalog never sorts all of it.
+ *
+ * Before an item is scored, its precomputed character masks give an upper bound for its score.
+ * Items a word can't possibly match, and items whose bound can't beat the worst kept match once
+ * the heap is full, are skipped without running the substring, abbreviation and typo checks.
+ */
+public class FuzzySearch {
+    /**
+     * Queries starting with this character are ranked fuzzy searches in the overlay.
+     */
+    public static final String PREFIX = "~";
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int TEXT_WEIGHT = 1;
+
+    private static final int SUBSTRING_SCORE = 100;
+    private static final int PREFIX_BONUS = 60;
+    private static final int WORD_START_BONUS = 30;
+    private static final int EXACT_BONUS = 80;
+    private static final int ABBREVIATION_SCORE = 50;
+    private static final int TYPO_SCORE = 35;
+
+    private static final Comparator<Match> WORST_FIRST = Comparator
+            .comparingInt((Match match) -> match.score)
+            .thenComparingInt(match -> -match.item.getNameKey().length())
+            .thenComparingInt(match -> -match.ordinal);
+
+    private static class Match {
+        final CustomItem item;
+        final int score;
+        final int ordinal;
+
+        Match(CustomItem item, int score, int ordinal) {
+            this.item = item;
+            this.score = score;
+            this.ordinal = ordinal;
+        }
+    }
+
+    /**
+     * The best matches for {@code query} among {@code items}, best first. Ties go to the shorter
+     * name, then to catalog order. An empty query returns the first {@code limit} items, and a
+     * limit of zero or less returns nothing.
+     */
+    public static List<CustomItem> search(List<CustomItem> items, String query, int limit, BooleanSupplier cancelled) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String[] tokens = SearchText.normalize(query).trim().split("\\s+");
+        if (tokens.length == 0 || tokens[0].isEmpty()) {
+            return items.subList(0, Math.min(limit, items.size()));
+        }
+
+        long[] tokenMasks = new long[tokens.length];
+        for (int t = 0; t < tokens.length; t++) {
+            tokenMasks[t] = SearchText.charMask(tokens[t], 0);
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (int i = 0; i < items.size(); i++) {
+            SearchIndex.checkCancelled(i, cancelled);
+            CustomItem item = items.get(i);
+            int bound = upperBound(item, tokens, tokenMasks);
+            if (bound <= 0 || (best.size() == limit && bound < best.peek().score)) {
+                continue;
+            }
+            int score = score(item, tokens);
+            if (score <= 0) {
+                continue;
+            }
+            Match match = new Match(item, score, i);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (WORST_FIRST.compare(match, best.peek()) > 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+        List<CustomItem> results = new ArrayList<>(ranked.size());
+        for (Match match : ranked) {
+            results.add(match.item);
+        }
+        return results;
+    }
+
+    /**
+     * A score {@link #score} can't exceed, from character masks alone, or 0 if some token can't
+     * match at all. Substring and abbreviation matches need every character of the token in the
+     * text; a one-edit typo can miss at most one.
+     */
+    static int upperBound(CustomItem item, String[] tokens, long[] tokenMasks) {
+        long nameMask = item.getNameCharMask();
+        long textMask = item.getTextCharMask();
+        int total = 0;
+        for (int t = 0; t < tokens.length; t++) {
+            int allowedMissing = tokens[t].length() >= 4 ? 1 : 0;
+            int tokenBound = Math.max(SUBSTRING_SCORE + PREFIX_BONUS, ABBREVIATION_SCORE + 5 * tokens[t].length());
+            if (Long.bitCount(tokenMasks[t] & ~nameMask) <= allowedMissing) {
+                total += tokenBound * NAME_WEIGHT;
+            } else if (Long.bitCount(tokenMasks[t] & ~textMask) <= allowedMissing) {
+                total += tokenBound * TEXT_WEIGHT;
+            } else {
+                return 0;
+            }
+        }
+        if (tokens.length == 1 && item.getNameKey().length() == tokens[0].length()) {
+            total += EXACT_BONUS * NAME_WEIGHT;
+        }
+        return total;
+    }
+
+    /**
+     * Sum of the token scores, or 0 if any token matches neither the name nor the other text.
+     */
+    static int score(CustomItem item, String[] tokens) {
+        String name = item.getNameKey();
+        String fullText = item.getFullTextKey();
+        int total = 0;
+        for (String token : tokens) {
+            int nameScore = scoreToken(name, 0, token);
+            if (nameScore > 0) {
+                total += nameScore * NAME_WEIGHT;
+                continue;
+            }
+            // The full-text key starts with the name and a separator; only look at the rest
+            int textScore = scoreToken(fullText, name.length() + 1, token);
+            if (textScore <= 0) {
+                return 0;
+            }
+            total += textScore * TEXT_WEIGHT;
+        }
+        if (tokens.length == 1 && name.equals(tokens[0])) {
+            total += EXACT_BONUS * NAME_WEIGHT;
+        }
+        return total;
+    }
+
+    static int scoreToken(String text, int from, String token) {
+        if (from >= text.length()) {
+            return 0;
+        }
+
+        int index = text.indexOf(token, from);
+        if (index >= 0) {
+            if (index == from) {
+                return SUBSTRING_SCORE + PREFIX_BONUS;
+            }
+            // Prefer an occurrence at the start of a word over the first one
+            for (int at = index; at >= 0; at = text.indexOf(token, at + 1)) {
+                if (isWordStart(text, at)) {
+                    return SUBSTRING_SCORE + WORD_START_BONUS;
+                }
+            }
+            return SUBSTRING_SCORE;
+        }
+
+        int abbreviation = scoreAbbreviation(text, from, token);
+        if (abbreviation > 0) {
+            return abbreviation;
+        }
+        return token.length() >= 4 && hasWordWithinOneEdit(text, from, token) ? TYPO_SCORE : 0;
+    }
+
+    /**
+     * Scores {@code token} as an in-order subsequence that starts at a word and stays within one
+     * field and a span of three characters per token character. Fewer skipped characters and more
+     * hits on word starts score higher.
+     */
+    private static int scoreAbbreviation(String text, int from, String token) {
+        int best = 0;
+        char first = token.charAt(0);
+        for (int start = text.indexOf(first, from); start >= 0; start = text.indexOf(first, start + 1)) {
+            if (!isWordStart(text, start)) {
+                continue;
+            }
+            int limit = Math.min(text.length(), start + token.length() * 3);
+            int pos = start + 1;
+            int wordStarts = 1;
+            int t = 1;
+            while (t < token.length() && pos < limit) {
+                char c = text.charAt(pos);
+                if (c == SearchText.FIELD_SEPARATOR) {
+                    break;
+                }
+                if (c == token.charAt(t)) {
+                    if (isWordStart(text, pos)) {
+                        wordStarts++;
+                    }
+                    t++;
+                }
+                pos++;
+            }
+            if (t == token.length()) {
+                int skipped = (pos - start) - token.length();
+                best = Math.max(best, Math.max(1, ABBREVIATION_SCORE - skipped * 3 + wordStarts * 5));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * True if some word of the text, or its prefix of the token's length, is at most one
+     * substitution, insertion, deletion or swap of adjacent characters away from the token.
+     */
+    private static boolean hasWordWithinOneEdit(String text, int from, String token) {
+        int pos = from;
+        while (pos < text.length()) {
+            while (pos < text.length() && !Character.isLetterOrDigit(text.charAt(pos))) {
+                pos++;
+            }
+            int end = pos;
+            while (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) {
+                end++;
+            }
+            if (end > pos) {
+                if (withinOneEdit(text, pos, end, token)
+                        || (end - pos > token.length() && withinOneEdit(text, pos, pos + token.length(), token))) {
+                    return true;
+                }
+            }
+            pos = end;
+        }
+        return false;
+    }
+
+    private static boolean withinOneEdit(String text, int start, int end, String token) {
+        int length = end - start;
+        if (Math.abs(length - token.length()) > 1) {
+            return false;
+        }
+
+        int i = 0;
+        while (i < length && i < token.length() && text.charAt(start + i) == token.charAt(i)) {
+            i++;
+        }
+        if (length == token.length()) {
+            if (i == length) {
+                return true;
+            }
+            // Substitution, or a swap of two neighbouring characters
+            if (text.regionMatches(start + i + 1, token, i + 1, length - i - 1)) {
+                return true;
+            }
+            return i + 1 < length
+                    && text.charAt(start + i) == token.charAt(i + 1)
+                    && text.charAt(start + i + 1) == token.charAt(i)
+                    && text.regionMatches(start + i + 2, token, i + 2, length - i - 2);
+        }
+        if (length > token.length()) {
+            // One extra character in the text
+            return text.regionMatches(start + i + 1, token, i, token.length() - i);
+        }
+        // One character missing from the text
+        return text.regionMatches(start + i, token, i + 1, length - i);
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1));
+    }
+}
@@ -3,7 +3,6 @@ package com.self.itemlist;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
-import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 import org.lwjgl.glfw.GLFW;
 
@@ -91,8 +90,7 @@ public class IngredientUsageScreen extends Screen {
 
             // Render item
             CustomItem item = usageItems.get(i);
-            ItemStack stack = item.toItemStack();
-            context.drawItem(stack, x, y);
+            context.drawItem(item.getDisplayStack(), x, y);
         }
 
         // Render tooltips
@@ -10,7 +10,9 @@ public class ItemList implements ModInitializer {
 
     @Override
     public void onInitialize() {
-        LOGGER.info("ItemList mod initialized!");
-        ItemRegistry.loadItems();
+        long start = System.nanoTime();
+        // Parse the catalog in the background so it doesn't hold up game startup
+        ItemRegistry.loadItemsAsync();
+        LOGGER.info("ItemList mod initialized in {} ms (catalog loading in background)", (System.nanoTime() - start) / 1_000_000);
     }
 }
\ No newline at end of file
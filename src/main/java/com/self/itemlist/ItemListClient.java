@@ -1,7 +1,11 @@
 package com.self.itemlist;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
+import net.fabricmc.fabric.api.client.screen.v1.ScreenMouseEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.ingame.HandledScreen;
 
 public class ItemListClient implements ClientModInitializer {
 
@@ -10,8 +14,21 @@ public class ItemListClient implements ClientModInitializer {
         // Register screen open/close events
         ScreenEvents.AFTER_INIT.register((client, screen, scaledWidth, scaledHeight) -> {
             ItemListScreen.onScreenOpened(screen);
+            // HandledScreen has no mouseScrolled of its own to inject into, so use the screen event
+            if (screen instanceof HandledScreen) {
+                ScreenMouseEvents.allowMouseScroll(screen).register((s, mouseX, mouseY, horizontalAmount, verticalAmount) ->
+                        !ItemListScreen.mouseScrolled(mouseX, mouseY, verticalAmount));
+                ScreenEvents.remove(screen).register(ItemListScreen::onScreenClosed);
+            }
         });
 
+        // Pick up edits to config/itemlist/items.json once the initial load is done
+        ItemRegistry.loadItemsAsync().thenRun(() -> CatalogWatcher.start(diff ->
+                MinecraftClient.getInstance().execute(() -> ItemListScreen.onCatalogChanged(diff))));
+        // Registries are frozen by now, so materials can be resolved to items once
+        ClientLifecycleEvents.CLIENT_STARTED.register(client -> ItemRegistry.onRegistriesReady());
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> CatalogWatcher.stop());
+
         ItemList.LOGGER.info("ItemList client initialized!");
     }
 }
\ No newline at end of file
@@ -7,9 +7,7 @@ import net.minecraft.client.gui.screen.ingame.GenericContainerScreen;
 import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.item.ItemStack;
-import net.minecraft.registry.Registries;
 import net.minecraft.text.Text;
-import net.minecraft.util.Identifier;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
@@ -17,18 +15,43 @@ import java.util.List;
 
 public class ItemListScreen {
     private static boolean isVisible = false;
-    private static int currentPage = 0;
-    private static final int ITEMS_PER_PAGE = 128; // 8 columns x 16 rows
     private static final int COLUMNS = 8;
-    private static final int ROWS = 16;
+    private static final int ROWS = 16; // visible at once; the grid scrolls through the rest
     private static final int SLOT_SIZE = 18;
+    // Items in view at once; the page label and the scroll buttons count in these
+    private static final int VIEW_SIZE = ROWS * COLUMNS;
+    // Rows moved per mouse wheel notch, and rows past either edge of the view whose stacks are built early
+    private static final int SCROLL_STEP_ROWS = 3;
+    private static final int PREFETCH_ROWS = 4;
+
+    // Grid scroll position in pixels. Input moves scrollTarget; scrollOffset eases toward it every frame.
+    private static double scrollOffset = 0;
+    private static double scrollTarget = 0;
+    private static long lastScrollNanos = 0;
+    private static boolean draggingScrollbar = false;
 
     private static List<CustomItem> filteredItems = new ArrayList<>();
     private static CustomItem hoveredItem = null;
     private static TextFieldWidget searchField = null;
     private static String searchQuery = "";
+    // Ranked '~' searches return up to four screens of results
+    private static final AsyncSearch search = new AsyncSearch(VIEW_SIZE * 4);
+    private static final PanelCache panelCache = new PanelCache();
+    // Filter buttons and result indexes whose stacks have an enchantment glint. The cached panel
+    // leaves their icons out and render() draws them every frame so the glint keeps moving.
+    private static final List<Integer> liveFilterIcons = new ArrayList<>();
+    private static final List<Integer> liveItems = new ArrayList<>();
     private static List<String> filters = new ArrayList<>();
+    // Resolved alongside filters in updateFilters(): the icon of each button (null if it has none),
+    // the letter drawn instead, and the tooltip
+    private static final List<ItemStack> filterIcons = new ArrayList<>();
+    private static final List<Text> filterLabels = new ArrayList<>();
+    private static final List<List<Text>> filterTooltips = new ArrayList<>();
     private static java.util.Set<String> selectedFilters = new java.util.HashSet<>();
+    // Set while the overlay is open but the catalog is still loading in the background
+    private static boolean awaitingCatalog = false;
+    // Catalog version the filter buttons were built from
+    private static long filtersVersion = -1;
 
     // Filter item mappings
     private static final java.util.Map<String, String> filterItems = new java.util.HashMap<>();
@@ -60,101 +83,260 @@ public class ItemListScreen {
         filterItems.put("Mage", "minecraft:blaze_rod");
     }
 
+    /**
+     * Geometry of the overlay for one scaled window size and filter count. Render and input both
+     * read positions from here, so what is drawn and what is clickable can't drift apart.
+     */
+    static final class Layout {
+        static final int BUTTON_SIZE = 18;
+        static final int BUTTON_SPACING = 2;
+        static final int NAV_BUTTON_WIDTH = 15;
+        static final int NAV_BUTTON_HEIGHT = 16;
+        static final int SCROLLBAR_WIDTH = 4;
+
+        final int screenWidth;
+        final int screenHeight;
+        final int filterCount;
+
+        final int panelX;
+        final int panelY;
+        final int panelWidth;
+        final int panelHeight;
+        final int gridX;
+        final int gridY;
+        final int filtersPerRow;
+        final int filterBarY;
+        final int searchBarX;
+        final int searchBarY;
+        final int searchBarWidth;
+        final int prevButtonX;
+        final int pageTextX;
+        final int scrollbarX;
+
+        // Page label and its width, remembered until the page or page count changes
+        private int labelPage = -1;
+        private int labelPages = -1;
+        String pageText;
+        int nextButtonX;
+
+        Layout(int screenWidth, int screenHeight, int filterCount) {
+            this.screenWidth = screenWidth;
+            this.screenHeight = screenHeight;
+            this.filterCount = filterCount;
+
+            panelWidth = COLUMNS * SLOT_SIZE + 20;
+            filtersPerRow = (panelWidth - 20) / (BUTTON_SIZE + BUTTON_SPACING);
+            int filterRows = (int) Math.ceil((double) filterCount / filtersPerRow);
+            int filterHeight = filterRows * (BUTTON_SIZE + BUTTON_SPACING) - BUTTON_SPACING;
+
+            int gridHeight = ROWS * SLOT_SIZE;
+            // title + grid + spacing + filters + spacing + search bar
+            panelHeight = 25 + gridHeight + 10 + filterHeight + 10 + 20;
+            panelX = screenWidth - panelWidth - 5;
+            panelY = (screenHeight - panelHeight - 25) / 2; // Adjusted for search bar
+            gridX = panelX + 10;
+            gridY = panelY + 25;
+            filterBarY = gridY + gridHeight + 10;
+            searchBarX = panelX + 10;
+            searchBarY = filterBarY + filterHeight + 10;
+            searchBarWidth = panelWidth - 90;
+            prevButtonX = panelX + panelWidth - 75;
+            pageTextX = prevButtonX + NAV_BUTTON_WIDTH + 5;
+            scrollbarX = gridX + COLUMNS * SLOT_SIZE + 2;
+        }
+
+        boolean matches(int screenWidth, int screenHeight, int filterCount) {
+            return this.screenWidth == screenWidth && this.screenHeight == screenHeight && this.filterCount == filterCount;
+        }
+
+        /**
+         * Updates the page label and the next button position that depends on its width.
+         */
+        void updatePageLabel(MinecraftClient client, int page, int totalPages) {
+            if (page == labelPage && totalPages == labelPages) {
+                return;
+            }
+            labelPage = page;
+            labelPages = totalPages;
+            pageText = (page + 1) + "/" + Math.max(1, totalPages);
+            nextButtonX = pageTextX + client.textRenderer.getWidth(pageText) + 5;
+        }
+
+        /**
+         * Index into the result list of the slot under the mouse with the grid scrolled down by
+         * {@code scroll} pixels, or -1. Only the 16x16 item area counts, not the gap between slots.
+         * The index may be past the end of the results.
+         */
+        int itemIndexAt(double mouseX, double mouseY, int scroll) {
+            if (!isInGrid(mouseX, mouseY)) {
+                return -1;
+            }
+            return cellAt(mouseX - gridX, mouseY - gridY + scroll, SLOT_SIZE, 16, COLUMNS, Integer.MAX_VALUE);
+        }
+
+        boolean isInGrid(double mouseX, double mouseY) {
+            return mouseX >= gridX && mouseX < gridX + COLUMNS * SLOT_SIZE
+                    && mouseY >= gridY && mouseY < gridY + ROWS * SLOT_SIZE;
+        }
+
+        boolean isInPanel(double mouseX, double mouseY) {
+            return isOver(mouseX, mouseY, panelX, panelY, panelWidth, panelHeight);
+        }
+
+        boolean isOverScrollbar(double mouseX, double mouseY) {
+            return isOver(mouseX, mouseY, scrollbarX, gridY, SCROLLBAR_WIDTH, ROWS * SLOT_SIZE);
+        }
+
+        int filterX(int index) {
+            return panelX + 10 + (index % filtersPerRow) * (BUTTON_SIZE + BUTTON_SPACING);
+        }
+
+        int filterY(int index) {
+            return filterBarY + (index / filtersPerRow) * (BUTTON_SIZE + BUTTON_SPACING);
+        }
+
+        /**
+         * Index of the filter button under the mouse, or -1.
+         */
+        int filterAt(double mouseX, double mouseY) {
+            return cellAt(mouseX - (panelX + 10), mouseY - filterBarY, BUTTON_SIZE + BUTTON_SPACING, BUTTON_SIZE, filtersPerRow, filterCount);
+        }
+
+        boolean isOverPrevButton(double mouseX, double mouseY) {
+            return isOver(mouseX, mouseY, prevButtonX, searchBarY, NAV_BUTTON_WIDTH, NAV_BUTTON_HEIGHT);
+        }
+
+        boolean isOverNextButton(double mouseX, double mouseY) {
+            return isOver(mouseX, mouseY, nextButtonX, searchBarY, NAV_BUTTON_WIDTH, NAV_BUTTON_HEIGHT);
+        }
+
+        boolean isOverSearchBar(double mouseX, double mouseY) {
+            return isOver(mouseX, mouseY, searchBarX, searchBarY, searchBarWidth, 16);
+        }
+
+        private static boolean isOver(double mouseX, double mouseY, int x, int y, int width, int height) {
+            return mouseX >= x && mouseX < x + width && mouseY >= y && mouseY < y + height;
+        }
+
+        // Cells are laid out row by row, pitch apart, each size wide and high
+        private static int cellAt(double dx, double dy, int pitch, int size, int perRow, int count) {
+            if (dx < 0 || dy < 0) {
+                return -1;
+            }
+            int col = (int) dx / pitch;
+            int row = (int) dy / pitch;
+            if (col >= perRow || dx - col * pitch >= size || dy - row * pitch >= size) {
+                return -1;
+            }
+            long index = (long) row * perRow + col;
+            return index < count ? (int) index : -1;
+        }
+    }
+
+    private static Layout layout = null;
+
+    private static Layout getLayout(MinecraftClient client) {
+        int screenWidth = client.getWindow().getScaledWidth();
+        int screenHeight = client.getWindow().getScaledHeight();
+        if (layout == null || !layout.matches(screenWidth, screenHeight, filters.size())) {
+            layout = new Layout(screenWidth, screenHeight, filters.size());
+        }
+        return layout;
+    }
+
 
 
     public static void onScreenOpened(Screen screen) {
         if (screen instanceof HandledScreen) {
             isVisible = true;
-            currentPage = 0;
+            panelCache.invalidate();
+            resetScroll();
             hoveredItem = null;
             selectedFilters.clear();
             selectedFilters.add("All");
+            if (!ItemRegistry.isLoaded()) {
+                // Don't wait on the loader here; render() picks the catalog up once it's ready
+                awaitingCatalog = true;
+                filters.clear();
+                filterIcons.clear();
+                filterLabels.clear();
+                filterTooltips.clear();
+                filtersVersion = -1;
+                filteredItems = new ArrayList<>();
+                ItemList.LOGGER.info("ItemList screen opened while catalog is still loading");
+                return;
+            }
+            awaitingCatalog = false;
             updateFilters();
             updateFilteredItems();
-            ItemList.LOGGER.info("ItemList screen opened. Total items available: {}", filteredItems.size());
+            ItemList.LOGGER.info("ItemList screen opened. Total items available: {}", ItemRegistry.getCatalog().size());
         } else {
             isVisible = false;
             searchField = null;
+            panelCache.close();
         }
     }
 
+    /**
+     * Called when a handled screen is removed, including when it closes back to the game, which
+     * opens no new screen. Frees the cached panel's framebuffer.
+     */
+    public static void onScreenClosed(Screen screen) {
+        panelCache.close();
+    }
+
     public static void render(DrawContext context, int mouseX, int mouseY, float delta, Screen screen) {
         if (!isVisible || !(screen instanceof HandledScreen)) {
             return;
         }
 
         MinecraftClient client = MinecraftClient.getInstance();
-        int screenWidth = client.getWindow().getScaledWidth();
-        int screenHeight = client.getWindow().getScaledHeight();
-
-        // Calculate panel position (right side)
-        int panelWidth = COLUMNS * SLOT_SIZE + 20;
-
-        // Calculate filter rows and total height needed
-        int buttonSize = 18;
-        int buttonSpacing = 2;
-        int filtersPerRow = (panelWidth - 20) / (buttonSize + buttonSpacing);
-        int filterRows = (int) Math.ceil((double) filters.size() / filtersPerRow);
-        int filterHeight = filterRows * (buttonSize + buttonSpacing) - buttonSpacing;
-
-        int gridHeight = ROWS * SLOT_SIZE;
-        int panelX = screenWidth - panelWidth - 5;
-        int panelY = (screenHeight - (25 + gridHeight + 10 + filterHeight + 10 + 20) - 25) / 2; // Adjusted for search bar
-        int panelHeight = 25 + gridHeight + 10 + filterHeight + 10 + 20; // title + grid + spacing + filters + spacing + search bar
-        int filterBarY = panelY + 25 + gridHeight + 10;
-        int searchBarY = panelY + 25 + gridHeight + 10 + filterHeight + 10;
-
-        // Draw background panel
-        context.fill(panelX, panelY, panelX + panelWidth, panelY + panelHeight, 0xC0000000);
-        context.drawBorder(panelX, panelY, panelWidth, panelHeight, 0xFF8B8B8B);
-
-        // Draw title
-        context.drawText(client.textRenderer, Text.literal("Item List"), panelX + 10, panelY + 8, 0xFFFFFF, true);
-
-        // Draw separator line below title
-        int separatorY = panelY + 18;
-        context.fill(panelX + 5, separatorY, panelX + panelWidth - 5, separatorY + 1, 0xFF555555);
-
-        // Calculate item grid position
-        int gridX = panelX + 10;
-        int gridY = panelY + 25;
-
-        // Reset hovered item
-        hoveredItem = null;
-
-        // Render items
-        int startIndex = currentPage * ITEMS_PER_PAGE;
-        int endIndex = Math.min(startIndex + ITEMS_PER_PAGE, filteredItems.size());
-
-        for (int i = startIndex; i < endIndex; i++) {
-            int index = i - startIndex;
-            int col = index % COLUMNS;
-            int row = index / COLUMNS;
-
-            int x = gridX + col * SLOT_SIZE;
-            int y = gridY + row * SLOT_SIZE;
-
-            // Draw slot background
-            context.fill(x, y, x + 16, y + 16, 0x8B000000);
 
-            // Check if hovered
-            boolean isHovered = mouseX >= x && mouseX < x + 16 && mouseY >= y && mouseY < y + 16;
-            if (isHovered) {
-                context.fill(x, y, x + 16, y + 16, 0x80FFFFFF);
-                hoveredItem = filteredItems.get(i);
+        if (awaitingCatalog) {
+            if (!ItemRegistry.isLoaded()) {
+                renderLoadingPanel(context, client);
+                return;
             }
-
-            // Render item
-            CustomItem item = filteredItems.get(i);
-            ItemStack stack = item.toItemStack();
-            context.drawItem(stack, x, y);
+            awaitingCatalog = false;
+            updateFilters();
+            updateFilteredItems();
+            ItemList.LOGGER.info("Catalog became ready. Total items available: {}", ItemRegistry.getCatalog().size());
         }
 
+        Layout layout = getLayout(client);
+        int panelX = layout.panelX;
+        int panelY = layout.panelY;
+        int panelWidth = layout.panelWidth;
+        int searchBarY = layout.searchBarY;
+
+        // The panel, filter buttons and item grid come from the cached image, redrawn when the
+        // layout, results, selected filters or scroll position change, and a few times a second
+        // for animated item textures
+        updateScroll();
+        int scroll = (int) Math.round(scrollOffset);
+        if (!panelCache.isCurrent(layout, filteredItems, scroll)) {
+            panelCache.beginCapture(context);
+            renderPanel(context, client, layout, scroll);
+            panelCache.endCapture(context);
+        }
+        panelCache.draw(context, panelX, panelY, panelWidth, layout.panelHeight);
 
+        // Icons with a glint, left out of the cached panel; a slow refresh is enough for other
+        // animated textures, but a frozen glint is easy to spot
+        for (int f : liveFilterIcons) {
+            context.drawItem(filterIcons.get(f), layout.filterX(f) + 1, layout.filterY(f) + 1);
+        }
+        context.enableScissor(layout.gridX, layout.gridY, layout.gridX + COLUMNS * SLOT_SIZE, layout.gridY + ROWS * SLOT_SIZE);
+        for (int i : liveItems) {
+            int x = layout.gridX + (i % COLUMNS) * SLOT_SIZE;
+            int y = layout.gridY + (i / COLUMNS) * SLOT_SIZE - scroll;
+            context.drawItem(filteredItems.get(i).getDisplayStack(), x, y);
+        }
+        context.disableScissor();
 
         // Initialize search field if needed
         if (searchField == null) {
-            searchField = new TextFieldWidget(client.textRenderer, panelX + 10, searchBarY, panelWidth - 90, 16, Text.literal("Search"));
+            searchField = new TextFieldWidget(client.textRenderer, layout.searchBarX, searchBarY, layout.searchBarWidth, 16, Text.literal("Search"));
             searchField.setMaxLength(100);
             searchField.setText(searchQuery);
             searchField.setPlaceholder(Text.literal("Search items..."));
@@ -163,14 +345,14 @@ public class ItemListScreen {
             searchField.setDrawsBackground(true);
             searchField.setChangedListener(text -> {
                 searchQuery = text;
-                currentPage = 0;
+                resetScroll();
                 updateFilteredItems();
                 ItemList.LOGGER.info("Search query changed to: '{}'", text);
             });
         } else {
-            searchField.setX(panelX + 10);
+            searchField.setX(layout.searchBarX);
             searchField.setY(searchBarY);
-            searchField.setWidth(panelWidth - 90);
+            searchField.setWidth(layout.searchBarWidth);
         }
 
         // Draw search bar background with focus indicator
@@ -180,127 +362,183 @@ public class ItemListScreen {
 
         searchField.render(context, mouseX, mouseY, delta);
 
-        // Draw filter buttons above search bar
-        int currentX = panelX + 10;
-        int currentY = filterBarY;
-
-        for (String filter : filters) {
-            if (currentX + buttonSize > panelX + panelWidth - 10) {
-                // Start new row
-                currentX = panelX + 10;
-                currentY += buttonSize + buttonSpacing;
-            }
-
-            boolean isSelected = selectedFilters.contains(filter);
-            boolean isHovered = mouseX >= currentX && mouseX < currentX + buttonSize &&
-                    mouseY >= currentY && mouseY < currentY + buttonSize;
-
-            int buttonColor = isSelected ? 0xFF00AA00 : (isHovered ? 0xFF555555 : 0xFF333333);
-            context.fill(currentX, currentY, currentX + buttonSize, currentY + buttonSize, buttonColor);
-            context.drawBorder(currentX, currentY, buttonSize, buttonSize, 0xFF8B8B8B);
-
-            // Draw filter item
-            String itemId = filterItems.get(filter);
-            if (itemId != null) {
-                try {
-                    net.minecraft.util.Identifier identifier = net.minecraft.util.Identifier.tryParse(itemId);
-                    if (identifier != null && net.minecraft.registry.Registries.ITEM.containsId(identifier)) {
-                        net.minecraft.item.ItemStack stack = new net.minecraft.item.ItemStack(net.minecraft.registry.Registries.ITEM.get(identifier));
-                        context.drawItem(stack, currentX + 1, currentY + 1);
-                    }
-                } catch (Exception e) {
-                    // Fallback to text if item fails
-                    context.drawText(client.textRenderer, Text.literal(filter.substring(0, 1)), currentX + 6, currentY + 5, 0xFFFFFF, false);
-                }
-            }
-
-            // Show tooltip on hover
-            if (isHovered) {
-                context.drawTooltip(client.textRenderer, java.util.List.of(Text.literal(filter)), mouseX, mouseY);
-            }
-
-            currentX += buttonSize + buttonSpacing;
-        }
-
-        // Adjust panel height if filter buttons extend beyond
-        int adjustedFilterHeight = currentY + buttonSize - filterBarY;
-        if (adjustedFilterHeight > 20) { // If more than one row
-            // Note: For simplicity, assuming panel height is sufficient; in a real implementation, might need to adjust panelY or height
+        // Only the hovered filter button changes with the mouse; draw it over the cached one
+        int hoveredFilter = layout.filterAt(mouseX, mouseY);
+        if (hoveredFilter >= 0 && !selectedFilters.contains(filters.get(hoveredFilter))) {
+            renderFilterButton(context, client, layout, hoveredFilter, 0xFF555555);
         }
 
-        // Draw page navigation buttons
-        int totalPages = (int) Math.ceil((double) filteredItems.size() / ITEMS_PER_PAGE);
+        // Draw page navigation buttons; they scroll by one view height
+        int totalPages = (int) Math.ceil((double) filteredItems.size() / VIEW_SIZE);
+        layout.updatePageLabel(client, currentPage(totalPages), totalPages);
         int navButtonY = searchBarY;
-        int navButtonWidth = 15;
-        int navButtonHeight = 16;
+        int navButtonWidth = Layout.NAV_BUTTON_WIDTH;
+        int navButtonHeight = Layout.NAV_BUTTON_HEIGHT;
 
         // Previous page button (<)
-        int prevButtonX = panelX + panelWidth - 75;
-        boolean prevHovered = mouseX >= prevButtonX && mouseX < prevButtonX + navButtonWidth &&
-                mouseY >= navButtonY && mouseY < navButtonY + navButtonHeight;
+        int prevButtonX = layout.prevButtonX;
+        boolean prevHovered = layout.isOverPrevButton(mouseX, mouseY);
         context.fill(prevButtonX, navButtonY, prevButtonX + navButtonWidth, navButtonY + navButtonHeight,
                 prevHovered ? 0xFF555555 : 0xFF333333);
         context.drawBorder(prevButtonX, navButtonY, navButtonWidth, navButtonHeight, 0xFF8B8B8B);
         context.drawText(client.textRenderer, Text.literal("<"), prevButtonX + 4, navButtonY + 4,
-                currentPage > 0 ? 0xFFFFFF : 0x888888, false);
+                scrollTarget > 0 ? 0xFFFFFF : 0x888888, false);
 
         // Page number display
-        String pageText = (currentPage + 1) + "/" + Math.max(1, totalPages);
-        int pageTextWidth = client.textRenderer.getWidth(pageText);
-        int pageTextX = prevButtonX + navButtonWidth + 5;
-        context.drawText(client.textRenderer, Text.literal(pageText),
-                pageTextX, navButtonY + 4, 0xFFFFFF, true);
+        context.drawText(client.textRenderer, Text.literal(layout.pageText),
+                layout.pageTextX, navButtonY + 4, 0xFFFFFF, true);
 
         // Next page button (>)
-        int nextButtonX = pageTextX + pageTextWidth + 5;
-        boolean nextHovered = mouseX >= nextButtonX && mouseX < nextButtonX + navButtonWidth &&
-                mouseY >= navButtonY && mouseY < navButtonY + navButtonHeight;
+        int nextButtonX = layout.nextButtonX;
+        boolean nextHovered = layout.isOverNextButton(mouseX, mouseY);
         context.fill(nextButtonX, navButtonY, nextButtonX + navButtonWidth, navButtonY + navButtonHeight,
                 nextHovered ? 0xFF555555 : 0xFF333333);
         context.drawBorder(nextButtonX, navButtonY, navButtonWidth, navButtonHeight, 0xFF8B8B8B);
         context.drawText(client.textRenderer, Text.literal(">"), nextButtonX + 4, navButtonY + 4,
-                currentPage < totalPages - 1 ? 0xFFFFFF : 0x888888, false);
+                scrollTarget < maxScroll() ? 0xFFFFFF : 0x888888, false);
 
-        // No longer render overlay - replaced with RecipeEditorScreen
+        // Item hover highlight, clipped to the grid like the items under it
+        int size = filteredItems.size();
+        int firstRow = scroll / SLOT_SIZE;
+        int lastRow = Math.min(totalRows() - 1, (scroll + ROWS * SLOT_SIZE - 1) / SLOT_SIZE);
+        int hoveredIndex = layout.itemIndexAt(mouseX, mouseY, scroll);
+        hoveredItem = hoveredIndex >= 0 && hoveredIndex < size ? filteredItems.get(hoveredIndex) : null;
 
-        // Render items again on top to ensure they appear above the overlay
-        for (int i = startIndex; i < endIndex; i++) {
-            int index = i - startIndex;
-            int col = index % COLUMNS;
-            int row = index / COLUMNS;
+        context.enableScissor(layout.gridX, layout.gridY, layout.gridX + COLUMNS * SLOT_SIZE, layout.gridY + ROWS * SLOT_SIZE);
+        if (hoveredItem != null) {
+            // Highlight above the item model, the same way RecipeViewerScreen lifts its counts
+            int x = layout.gridX + (hoveredIndex % COLUMNS) * SLOT_SIZE;
+            int y = layout.gridY + (hoveredIndex / COLUMNS) * SLOT_SIZE - scroll;
+            context.getMatrices().push();
+            context.getMatrices().translate(0.0f, 0.0f, 200.0f);
+            context.fill(x, y, x + 16, y + 16, 0x80FFFFFF);
+            context.getMatrices().pop();
+        }
+        context.disableScissor();
+
+        // Build display stacks for the rows just outside the view before they scroll in
+        prefetch(Math.max(0, firstRow - PREFETCH_ROWS) * COLUMNS, firstRow * COLUMNS);
+        prefetch((lastRow + 1) * COLUMNS, (lastRow + 1 + PREFETCH_ROWS) * COLUMNS);
+
+        // Scrollbar with a thumb proportional to the share of rows in view
+        int maxScroll = maxScroll();
+        if (maxScroll > 0) {
+            int trackHeight = ROWS * SLOT_SIZE;
+            int thumbHeight = thumbHeight();
+            int thumbY = layout.gridY + (int) Math.round((trackHeight - thumbHeight) * scrollOffset / maxScroll);
+            boolean thumbActive = draggingScrollbar || layout.isOverScrollbar(mouseX, mouseY);
+            context.fill(layout.scrollbarX, layout.gridY, layout.scrollbarX + Layout.SCROLLBAR_WIDTH, layout.gridY + trackHeight, 0x40FFFFFF);
+            context.fill(layout.scrollbarX, thumbY, layout.scrollbarX + Layout.SCROLLBAR_WIDTH, thumbY + thumbHeight, thumbActive ? 0xFFFFFFFF : 0xFFAAAAAA);
+        }
+
+        // Tooltips go last so they are on top of everything
+        if (hoveredFilter >= 0) {
+            context.drawTooltip(client.textRenderer, filterTooltips.get(hoveredFilter), mouseX, mouseY);
+        }
+        if (hoveredItem != null) {
+            renderHoverTooltip(context, client, hoveredItem, mouseX, mouseY);
+        }
+    }
+
+    /**
+     * Everything in the panel that only changes with the layout, results, selected filters or
+     * scroll position: background, title, filter buttons and the visible rows of the item grid.
+     */
+    private static void renderPanel(DrawContext context, MinecraftClient client, Layout layout, int scroll) {
+        int panelX = layout.panelX;
+        int panelY = layout.panelY;
+        int panelWidth = layout.panelWidth;
+
+        // Draw background panel
+        context.fill(panelX, panelY, panelX + panelWidth, panelY + layout.panelHeight, 0xC0000000);
+        context.drawBorder(panelX, panelY, panelWidth, layout.panelHeight, 0xFF8B8B8B);
+
+        // Draw title
+        context.drawText(client.textRenderer, Text.literal("Item List"), panelX + 10, panelY + 8, 0xFFFFFF, true);
 
-            int x = gridX + col * SLOT_SIZE;
-            int y = gridY + row * SLOT_SIZE;
+        // Draw separator line below title
+        int separatorY = panelY + 18;
+        context.fill(panelX + 5, separatorY, panelX + panelWidth - 5, separatorY + 1, 0xFF555555);
 
-            // Check if hovered and draw highlight
-            boolean isHovered = mouseX >= x && mouseX < x + 16 && mouseY >= y && mouseY < y + 16;
-            if (isHovered) {
-                context.fill(x, y, x + 16, y + 16, 0x80FFFFFF);
+        // Draw filter buttons above search bar
+        liveFilterIcons.clear();
+        for (int f = 0; f < filters.size(); f++) {
+            boolean isSelected = selectedFilters.contains(filters.get(f));
+            ItemStack icon = filterIcons.get(f);
+            boolean live = icon != null && icon.hasGlint();
+            if (live) {
+                liveFilterIcons.add(f);
             }
+            renderFilterButton(context, client, layout, f, isSelected ? 0xFF00AA00 : 0xFF333333, !live);
+        }
+
+        // Render the item grid in one pass. Only the rows inside the view are drawn, clipped to
+        // the grid so partial rows can show.
+        int size = filteredItems.size();
+        int firstRow = scroll / SLOT_SIZE;
+        int lastRow = Math.min(totalRows() - 1, (scroll + ROWS * SLOT_SIZE - 1) / SLOT_SIZE);
+        liveItems.clear();
+        context.enableScissor(layout.gridX, layout.gridY, layout.gridX + COLUMNS * SLOT_SIZE, layout.gridY + ROWS * SLOT_SIZE);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = layout.gridY + row * SLOT_SIZE - scroll;
+            for (int col = 0; col < COLUMNS; col++) {
+                int i = row * COLUMNS + col;
+                if (i >= size) {
+                    break;
+                }
+                int x = layout.gridX + col * SLOT_SIZE;
+
+                // Draw slot background
+                context.fill(x, y, x + 16, y + 16, 0x8B000000);
 
-            // Render item again on top
-            CustomItem item = filteredItems.get(i);
-            ItemStack stack = item.toItemStack();
-            ItemStack displayStack = stack.copy();
-            displayStack.setCount(1);
-            context.drawItem(displayStack, x, y);
-
-            // Draw count if > 1
-            if (stack.getCount() > 1) {
-                context.drawText(client.textRenderer, Text.literal(String.valueOf(stack.getCount())),
-                        x + 18, y + 9, 0xFFFFFF, true);
+                // Render item, unless render() draws it live
+                ItemStack stack = filteredItems.get(i).getDisplayStack();
+                if (stack.hasGlint()) {
+                    liveItems.add(i);
+                } else {
+                    context.drawItem(stack, x, y);
+                }
             }
         }
+        context.disableScissor();
+    }
 
-        // Render standard tooltip for hovered item (rendered last to be on top of everything)
-        if (hoveredItem != null) {
-            renderHoverTooltip(context, client, hoveredItem, mouseX, mouseY);
+    private static void renderFilterButton(DrawContext context, MinecraftClient client, Layout layout, int f, int buttonColor) {
+        renderFilterButton(context, client, layout, f, buttonColor, true);
+    }
+
+    private static void renderFilterButton(DrawContext context, MinecraftClient client, Layout layout, int f, int buttonColor, boolean drawIcon) {
+        int buttonSize = Layout.BUTTON_SIZE;
+        int currentX = layout.filterX(f);
+        int currentY = layout.filterY(f);
+        context.fill(currentX, currentY, currentX + buttonSize, currentY + buttonSize, buttonColor);
+        context.drawBorder(currentX, currentY, buttonSize, buttonSize, 0xFF8B8B8B);
+
+        // Draw filter item, or its first letter if it has no icon
+        ItemStack icon = filterIcons.get(f);
+        if (icon != null) {
+            if (drawIcon) {
+                context.drawItem(icon, currentX + 1, currentY + 1);
+            }
+        } else {
+            context.drawText(client.textRenderer, filterLabels.get(f), currentX + 6, currentY + 5, 0xFFFFFF, false);
         }
     }
 
+    private static void renderLoadingPanel(DrawContext context, MinecraftClient client) {
+        int panelWidth = COLUMNS * SLOT_SIZE + 20;
+        int panelHeight = 40;
+        int panelX = client.getWindow().getScaledWidth() - panelWidth - 5;
+        int panelY = (client.getWindow().getScaledHeight() - panelHeight) / 2;
+
+        context.fill(panelX, panelY, panelX + panelWidth, panelY + panelHeight, 0xC0000000);
+        context.drawBorder(panelX, panelY, panelWidth, panelHeight, 0xFF8B8B8B);
+        context.drawText(client.textRenderer, Text.literal("Item List"), panelX + 10, panelY + 8, 0xFFFFFF, true);
+        context.drawText(client.textRenderer, Text.literal("Loading items..."), panelX + 10, panelY + 24, 0xAAAAAA, false);
+    }
+
     private static void renderHoverTooltip(DrawContext context, MinecraftClient client, CustomItem item, int mouseX, int mouseY) {
-        List<Text> tooltip = buildCustomItemTooltip(client, item);
-        context.drawTooltip(client.textRenderer, tooltip, mouseX, mouseY);
+        context.drawOrderedTooltip(client.textRenderer, TooltipCache.getTooltip(item, client.textRenderer, 200), mouseX, mouseY);
     }
 
     private static void renderInfoBox(DrawContext context, MinecraftClient client, CustomItem item, int mouseX, int mouseY) {
@@ -404,87 +642,21 @@ public class ItemListScreen {
 
 
 
-    private static List<Text> buildCustomItemTooltip(MinecraftClient client, CustomItem item) {
-        List<Text> tooltip = new ArrayList<>();
-        tooltip.add(Text.literal(item.getName()));
-
-        if (!item.getDescription().isEmpty()) {
-            tooltip.add(Text.literal(""));
-            tooltip.addAll(wrapText(client, item.getDescription(), 200));
-        }
-
-        if (!item.getLore().isEmpty()) {
-            tooltip.add(Text.literal(""));
-            for (String loreLine : item.getLore()) {
-                tooltip.add(Text.literal(loreLine));
-            }
-        }
-
-        return tooltip;
-    }
-
-    private static List<Text> wrapText(MinecraftClient client, String text, int maxWidth) {
-        List<Text> lines = new ArrayList<>();
-        String[] words = text.split(" ");
-        StringBuilder currentLine = new StringBuilder();
-
-        for (String word : words) {
-            String testLine = currentLine.length() > 0 ? currentLine + " " + word : word;
-            if (client.textRenderer.getWidth(testLine) <= maxWidth) {
-                currentLine = new StringBuilder(testLine);
-            } else {
-                if (currentLine.length() > 0) {
-                    lines.add(Text.literal(currentLine.toString()));
-                }
-                currentLine = new StringBuilder(word);
-            }
-        }
-
-        if (currentLine.length() > 0) {
-            lines.add(Text.literal(currentLine.toString()));
-        }
-
-        return lines;
-    }
-
     public static boolean mouseClicked(double mouseX, double mouseY, int button, Screen screen) {
         // Handle clicks in recipe chest screens
         if (screen instanceof GenericContainerScreen && screen.getTitle().getString().startsWith("Recipe: ")) {
             return handleRecipeChestClick(mouseX, mouseY, button, screen);
         }
 
-        if (!isVisible || !(screen instanceof HandledScreen)) {
+        if (!isVisible || awaitingCatalog || !(screen instanceof HandledScreen)) {
             return false;
         }
 
         MinecraftClient client = MinecraftClient.getInstance();
-        int screenWidth = client.getWindow().getScaledWidth();
-        int screenHeight = client.getWindow().getScaledHeight();
-
-        // Calculate panel position (right side)
-        int panelWidth = COLUMNS * SLOT_SIZE + 20;
-
-        // Calculate filter rows and total height needed
-        int buttonSize = 18;
-        int buttonSpacing = 2;
-        int filtersPerRow = (panelWidth - 20) / (buttonSize + buttonSpacing);
-        int filterRows = (int) Math.ceil((double) filters.size() / filtersPerRow);
-        int filterHeight = filterRows * (buttonSize + buttonSpacing) - buttonSpacing;
-
-        int gridHeight = ROWS * SLOT_SIZE;
-        int panelX = screenWidth - panelWidth - 5;
-        int panelY = (screenHeight - (25 + gridHeight + 10 + filterHeight + 10 + 20) - 25) / 2; // Adjusted for search bar
-        int panelHeight = 25 + gridHeight + 10 + filterHeight + 10 + 20; // title + grid + spacing + filters + spacing + search bar
-        int filterBarY = panelY + 25 + gridHeight + 10;
-        int searchBarY = panelY + 25 + gridHeight + 10 + filterHeight + 10;
-
-        // Calculate search bar position
-        int searchBarX = panelX + 10;
-        int searchBarWidth = panelWidth - 90;
+        Layout layout = getLayout(client);
 
         // Check if clicked on search bar area - prioritize this!
-        if (mouseX >= searchBarX && mouseX < searchBarX + searchBarWidth &&
-                mouseY >= searchBarY && mouseY < searchBarY + 16) {
+        if (layout.isOverSearchBar(mouseX, mouseY)) {
             if (searchField != null) {
                 searchField.setFocused(true);
                 searchField.mouseClicked(mouseX, mouseY, button);
@@ -501,108 +673,170 @@ public class ItemListScreen {
             }
         }
 
-
-        int currentX = panelX + 10;
-        int currentY = filterBarY;
-
-        for (String filter : filters) {
-            if (currentX + buttonSize > panelX + panelWidth - 10) {
-                // Start new row
-                currentX = panelX + 10;
-                currentY += buttonSize + buttonSpacing;
-            }
-
-            if (mouseX >= currentX && mouseX < currentX + buttonSize &&
-                    mouseY >= currentY && mouseY < currentY + buttonSize) {
-                if (filter.equals("All")) {
-                    selectedFilters.clear();
-                    selectedFilters.add("All");
-                } else {
-                    selectedFilters.remove("All");
-                    if (selectedFilters.contains(filter)) {
-                        selectedFilters.remove(filter);
-                        if (selectedFilters.isEmpty()) {
-                            selectedFilters.add("All");
-                        }
-                    } else {
-                        selectedFilters.add(filter);
+        int filterIndex = layout.filterAt(mouseX, mouseY);
+        if (filterIndex >= 0) {
+            String filter = filters.get(filterIndex);
+            if (filter.equals("All")) {
+                selectedFilters.clear();
+                selectedFilters.add("All");
+            } else {
+                selectedFilters.remove("All");
+                if (selectedFilters.contains(filter)) {
+                    selectedFilters.remove(filter);
+                    if (selectedFilters.isEmpty()) {
+                        selectedFilters.add("All");
                     }
+                } else {
+                    selectedFilters.add(filter);
                 }
-                currentPage = 0;
-                updateFilteredItems();
-                ItemList.LOGGER.info("Filters changed to: {}", selectedFilters);
-                return true;
             }
-
-            currentX += buttonSize + buttonSpacing;
+            resetScroll();
+            updateFilteredItems();
+            ItemList.LOGGER.info("Filters changed to: {}", selectedFilters);
+            return true;
         }
 
         // Check page navigation buttons
-        int navButtonY = searchBarY;
-        int navButtonWidth = 15;
-        int navButtonHeight = 16;
-        int totalPages = (int) Math.ceil((double) filteredItems.size() / ITEMS_PER_PAGE);
+        int totalPages = (int) Math.ceil((double) filteredItems.size() / VIEW_SIZE);
+        layout.updatePageLabel(client, currentPage(totalPages), totalPages);
 
         // Previous button
-        int prevButtonX = panelX + panelWidth - 75;
-        if (mouseX >= prevButtonX && mouseX < prevButtonX + navButtonWidth &&
-                mouseY >= navButtonY && mouseY < navButtonY + navButtonHeight) {
-            if (currentPage > 0) {
-                currentPage--;
+        if (layout.isOverPrevButton(mouseX, mouseY)) {
+            if (scrollTarget > 0) {
+                scrollBy(-ROWS * SLOT_SIZE);
                 return true;
             }
         }
 
         // Next button
-        String pageText = (currentPage + 1) + "/" + Math.max(1, totalPages);
-        int pageTextWidth = client.textRenderer.getWidth(pageText);
-        int pageTextX = prevButtonX + navButtonWidth + 5;
-        int nextButtonX = pageTextX + pageTextWidth + 5;
-        if (mouseX >= nextButtonX && mouseX < nextButtonX + navButtonWidth &&
-                mouseY >= navButtonY && mouseY < navButtonY + navButtonHeight) {
-            if (currentPage < totalPages - 1) {
-                currentPage++;
+        if (layout.isOverNextButton(mouseX, mouseY)) {
+            if (scrollTarget < maxScroll()) {
+                scrollBy(ROWS * SLOT_SIZE);
                 return true;
             }
         }
 
-        int gridX = panelX + 10;
-        int gridY = panelY + 25;
+        // Start dragging the scrollbar; clicking the track jumps there
+        if (button == 0 && maxScroll() > 0 && layout.isOverScrollbar(mouseX, mouseY)) {
+            draggingScrollbar = true;
+            dragScrollbarTo(layout, mouseY);
+            return true;
+        }
 
         // Check for right-click in item list area to reset filters
-        if (button == 1 && mouseX >= gridX && mouseX < gridX + COLUMNS * SLOT_SIZE &&
-                mouseY >= gridY && mouseY < gridY + ROWS * SLOT_SIZE) {
+        if (button == 1 && layout.isInGrid(mouseX, mouseY)) {
             selectedFilters.clear();
             selectedFilters.add("All");
-            currentPage = 0;
+            resetScroll();
             updateFilteredItems();
             ItemList.LOGGER.info("Filters reset to 'All' via right-click");
             return true;
         }
 
         // Check if clicked on an item
-        int startIndex = currentPage * ITEMS_PER_PAGE;
-        int endIndex = Math.min(startIndex + ITEMS_PER_PAGE, filteredItems.size());
+        int itemIndex = layout.itemIndexAt(mouseX, mouseY, (int) Math.round(scrollOffset));
+        if (itemIndex >= 0 && itemIndex < filteredItems.size()) {
+            CustomItem clickedItem = filteredItems.get(itemIndex);
+            // Open chest with recipe items
+            openRecipeChest(clickedItem, screen);
+            return true;
+        }
 
-        for (int i = startIndex; i < endIndex; i++) {
-            int index = i - startIndex;
-            int col = index % COLUMNS;
-            int row = index / COLUMNS;
+        return false;
+    }
 
-            int x = gridX + col * SLOT_SIZE;
-            int y = gridY + row * SLOT_SIZE;
+    /**
+     * Mouse wheel over the overlay scrolls the item grid.
+     */
+    public static boolean mouseScrolled(double mouseX, double mouseY, double verticalAmount) {
+        if (!isVisible || awaitingCatalog || layout == null || !layout.isInPanel(mouseX, mouseY)) {
+            return false;
+        }
+        scrollBy(-verticalAmount * SCROLL_STEP_ROWS * SLOT_SIZE);
+        return true;
+    }
 
-            if (mouseX >= x && mouseX < x + 16 && mouseY >= y && mouseY < y + 16) {
-                CustomItem clickedItem = filteredItems.get(i);
-                // Open chest with recipe items
-                openRecipeChest(clickedItem, screen);
-                return true;
-            }
+    public static boolean mouseDragged(double mouseX, double mouseY, int button) {
+        if (!draggingScrollbar || !isVisible || layout == null) {
+            return false;
         }
+        dragScrollbarTo(layout, mouseY);
+        return true;
+    }
 
+    public static boolean mouseReleased(double mouseX, double mouseY, int button) {
+        if (!draggingScrollbar) {
+            return false;
+        }
+        draggingScrollbar = false;
+        return true;
+    }
 
+    private static int totalRows() {
+        return (filteredItems.size() + COLUMNS - 1) / COLUMNS;
+    }
 
-        return false;
+    private static int maxScroll() {
+        return Math.max(0, (totalRows() - ROWS) * SLOT_SIZE);
+    }
+
+    private static int thumbHeight() {
+        int trackHeight = ROWS * SLOT_SIZE;
+        return Math.max(8, trackHeight * ROWS / Math.max(ROWS, totalRows()));
+    }
+
+    /**
+     * The page shown in the page label: the view height the grid has been scrolled by, with the
+     * bottom of the list always counting as the last page.
+     */
+    private static int currentPage(int totalPages) {
+        if (maxScroll() > 0 && scrollTarget >= maxScroll()) {
+            return Math.max(0, totalPages - 1);
+        }
+        return (int) Math.round(scrollTarget / (ROWS * SLOT_SIZE));
+    }
+
+    private static void scrollBy(double pixels) {
+        scrollTarget = Math.max(0, Math.min(maxScroll(), scrollTarget + pixels));
+    }
+
+    private static void dragScrollbarTo(Layout layout, double mouseY) {
+        int travel = ROWS * SLOT_SIZE - thumbHeight();
+        double fraction = travel <= 0 ? 0 : (mouseY - layout.gridY - thumbHeight() / 2.0) / travel;
+        // The thumb follows the mouse directly, without easing
+        scrollTarget = Math.max(0, Math.min(1, fraction)) * maxScroll();
+        scrollOffset = scrollTarget;
+    }
+
+    private static void resetScroll() {
+        scrollOffset = 0;
+        scrollTarget = 0;
+        draggingScrollbar = false;
+    }
+
+    private static void clampScroll() {
+        scrollTarget = Math.min(scrollTarget, maxScroll());
+        scrollOffset = Math.min(scrollOffset, maxScroll());
+    }
+
+    // Eases scrollOffset toward scrollTarget, independent of frame rate
+    private static void updateScroll() {
+        long now = System.nanoTime();
+        double seconds = lastScrollNanos == 0 ? 0 : Math.min(0.1, (now - lastScrollNanos) / 1_000_000_000.0);
+        lastScrollNanos = now;
+        clampScroll();
+        double remaining = scrollTarget - scrollOffset;
+        if (Math.abs(remaining) < 0.5) {
+            scrollOffset = scrollTarget;
+        } else {
+            scrollOffset += remaining * (1 - Math.exp(-seconds * 18));
+        }
+    }
+
+    private static void prefetch(int from, int to) {
+        for (int i = Math.max(0, from); i < Math.min(to, filteredItems.size()); i++) {
+            filteredItems.get(i).getDisplayStack();
+        }
     }
 
     public static boolean keyPressed(int keyCode, int scanCode, int modifiers) {
@@ -629,14 +863,13 @@ public class ItemListScreen {
         // Page navigation (only if search field is not focused)
         if (searchField == null || !searchField.isFocused()) {
             if (keyCode == GLFW.GLFW_KEY_RIGHT || keyCode == GLFW.GLFW_KEY_PAGE_DOWN) {
-                int totalPages = (int) Math.ceil((double) filteredItems.size() / ITEMS_PER_PAGE);
-                if (currentPage < totalPages - 1) {
-                    currentPage++;
+                if (scrollTarget < maxScroll()) {
+                    scrollBy(ROWS * SLOT_SIZE);
                     return true;
                 }
             } else if (keyCode == GLFW.GLFW_KEY_LEFT || keyCode == GLFW.GLFW_KEY_PAGE_UP) {
-                if (currentPage > 0) {
-                    currentPage--;
+                if (scrollTarget > 0) {
+                    scrollBy(-ROWS * SLOT_SIZE);
                     return true;
                 }
             }
@@ -660,38 +893,102 @@ public class ItemListScreen {
         return false;
     }
 
+    /**
+     * Starts a background search for the current query and filters. The previous results stay on
+     * screen until the new ones arrive.
+     */
     private static void updateFilteredItems() {
-        filteredItems = ItemRegistry.searchItems(searchQuery);
-        if (!selectedFilters.contains("All")) {
-            filteredItems = filteredItems.stream()
-                    .filter(item -> {
-                        if (item.getCategory() == null) return false;
-                        java.util.Set<String> itemCategories = java.util.Arrays.stream(item.getCategory().split(","))
-                                .map(String::trim)
-                                .collect(java.util.stream.Collectors.toSet());
-                        return selectedFilters.stream().allMatch(itemCategories::contains);
-                    })
-                    .collect(java.util.stream.Collectors.toList());
+        // The selected filters show on the cached panel right away, before the results arrive
+        panelCache.invalidate();
+        String query = searchQuery;
+        java.util.Set<String> filtersSnapshot = selectedFilters.contains("All") ? java.util.Set.of() : java.util.Set.copyOf(selectedFilters);
+        search.submit(query, filtersSnapshot, results -> {
+            filteredItems = results;
+            clampScroll();
+            ItemList.LOGGER.info("Updated filtered items. Query: '{}', Filters: '{}', Results: {} (cache: {} hits, {} misses)",
+                    query, filtersSnapshot, results.size(), search.getCache().getHits(), search.getCache().getMisses());
+        });
+    }
+
+
+    /**
+     * Applies a hot reload to the open overlay. Only the added, changed and removed items are
+     * re-checked against the current query and filters; everything else keeps its previous result.
+     */
+    public static void onCatalogChanged(CatalogDiff diff) {
+        if (!isVisible || awaitingCatalog) {
+            // Nothing derived is live; the next onScreenOpened rebuilds from the new catalog
+            return;
+        }
+
+        Catalog catalog = ItemRegistry.getCatalog();
+        // Filter buttons only change if the set or order of category words did
+        if (filters.isEmpty() || !catalog.getCategoryIndex().getCategories().equals(filters.subList(1, filters.size()))) {
+            updateFilters();
+        } else {
+            // Existing buttons are still correct for the new catalog
+            filtersVersion = catalog.getVersion();
+        }
+        panelCache.invalidate();
+
+        if (search.isPending()) {
+            // The shown results are about to be replaced anyway; search again against the new catalog
+            updateFilteredItems();
+            return;
+        }
+        if (searchQuery.startsWith(FuzzySearch.PREFIX)) {
+            // Ranked results can't be patched item by item; a change can move anything in or out of the top
+            updateFilteredItems();
+            return;
+        }
+
+        java.util.Set<String> affected = diff.getAffectedIds();
+        java.util.Set<String> previouslyShown = new java.util.HashSet<>();
+        for (CustomItem item : filteredItems) {
+            previouslyShown.add(item.getId());
         }
-        ItemList.LOGGER.info("Updated filtered items. Query: '{}', Filters: '{}', Results: {}", searchQuery, selectedFilters, filteredItems.size());
+
+        CategoryIndex categoryIndex = catalog.getCategoryIndex();
+        long[] filterMask = selectedFilters.contains("All") ? null : categoryIndex.categoryMask(selectedFilters);
+        List<CustomItem> updated = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            CustomItem item = catalog.getItems().get(i);
+            if (affected.contains(item.getId())) {
+                boolean inFilters = selectedFilters.contains("All") || categoryIndex.hasAll(i, filterMask);
+                if (inFilters && ItemRegistry.matchesQuery(item, searchQuery)) {
+                    updated.add(item);
+                }
+            } else if (previouslyShown.contains(item.getId())) {
+                updated.add(item);
+            }
+        }
+        filteredItems = updated;
+
+        clampScroll();
+        hoveredItem = null;
+        ItemList.LOGGER.info("Applied catalog reload to overlay ({} affected items). Results: {}", affected.size(), filteredItems.size());
     }
 
     private static void updateFilters() {
+        Catalog catalog = ItemRegistry.getCatalog();
+        if (catalog.getVersion() == filtersVersion) {
+            return;
+        }
+        filtersVersion = catalog.getVersion();
+
         filters.clear();
         filters.add("All");
-        java.util.Set<String> uniqueWords = new java.util.HashSet<>();
-        for (CustomItem item : ItemRegistry.getAllItems()) {
-            String category = item.getCategory();
-            if (category != null && !category.isEmpty()) {
-                String[] words = category.split(",");
-                for (String word : words) {
-                    String trimmed = word.trim();
-                    if (!trimmed.isEmpty() && !uniqueWords.contains(trimmed)) {
-                        uniqueWords.add(trimmed);
-                        filters.add(trimmed);
-                    }
-                }
-            }
+        filters.addAll(catalog.getCategoryIndex().getCategories());
+
+        filterIcons.clear();
+        filterLabels.clear();
+        filterTooltips.clear();
+        for (String filter : filters) {
+            String itemId = filterItems.get(filter);
+            net.minecraft.item.Item icon = itemId != null ? CustomItem.lookupItem(itemId) : null;
+            filterIcons.add(icon != null ? new ItemStack(icon) : null);
+            filterLabels.add(Text.literal(filter.substring(0, 1)));
+            filterTooltips.add(List.of(Text.literal(filter)));
         }
         ItemList.LOGGER.info("Updated filters: {}", filters);
     }
@@ -718,9 +1015,7 @@ public class ItemListScreen {
             return false;
         }
         String itemName = title.substring("Recipe: ".length());
-        CustomItem currentItem = ItemRegistry.getAllItems().stream()
-            .filter(item -> item.getName().equals(itemName))
-            .findFirst().orElse(null);
+        CustomItem currentItem = ItemRegistry.getItemByName(itemName);
         if (currentItem == null || currentItem.getRecipes().isEmpty()) {
             return false;
         }
@@ -3,38 +3,89 @@ package com.self.itemlist;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import net.fabricmc.loader.api.FabricLoader;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class ItemRegistry {
-    private static final List<CustomItem> ITEMS = new ArrayList<>();
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
+    // Swapped in as one unit so readers never see a partial load
+    private static volatile Catalog catalog = Catalog.EMPTY;
+    private static volatile CompletableFuture<Void> loadTask = null;
+    // The items.json the current catalog came from and its SHA-256, used to skip no-op reloads
+    private static volatile File loadedSource = null;
+    private static volatile byte[] loadedSourceHash = null;
+    private static volatile CatalogInterner.MemoryReport memoryReport = null;
+    // Kept across reloads so only new and changed items need interning
+    private static CatalogInterner interner = new CatalogInterner();
+    private static volatile boolean registriesReady = false;
+    private static long resolvedVersion = -1;
+
+    /**
+     * Starts loading the catalog on a background thread. Until it finishes the registry
+     * reports no items and {@link #isLoaded()} returns false.
+     */
+    public static synchronized CompletableFuture<Void> loadItemsAsync() {
+        if (loadTask == null) {
+            long submitted = System.nanoTime();
+            ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ItemList-Loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            loadTask = CompletableFuture.runAsync(() -> {
+                long started = System.nanoTime();
+                loadItems();
+                long finished = System.nanoTime();
+                ItemList.LOGGER.info("Catalog ready in {} ms ({} ms spent loading, {} ms queued)",
+                        (finished - submitted) / 1_000_000, (finished - started) / 1_000_000, (started - submitted) / 1_000_000);
+            }, executor);
+            loadTask.whenComplete((ignored, error) -> executor.shutdown());
+        }
+        return loadTask;
+    }
+
+    public static boolean isLoaded() {
+        CompletableFuture<Void> task = loadTask;
+        return task == null || task.isDone();
+    }
+
+    /**
+     * Loads the catalog from {@link #getCatalogSource()}: config/itemlist/items.json once it exists,
+     * otherwise the items.json bundled with the mod.
+     */
     public static void loadItems() {
-        // First try to load from mod resources
-        Path modItemsFile = FabricLoader.getInstance().getModContainer("itemlist").get().findPath("data/items.json").orElse(null);
-        if (modItemsFile != null && Files.exists(modItemsFile)) {
+        // A config file overrides the mod resources; without one, load the bundled file first
+        Path modItemsFile = findBundledItemsFile();
+        if (modItemsFile != null && !getConfigItemsFile().exists()) {
             ItemList.LOGGER.info("Loading items from mod resources: {}", modItemsFile);
             try {
                 loadItemsFromFile(modItemsFile.toFile());
-                ItemList.LOGGER.info("=== Successfully loaded {} items from mod resources ===", ITEMS.size());
+                ItemList.LOGGER.info("=== Successfully loaded {} items from mod resources ===", catalog.size());
                 return;
             } catch (Exception e) {
                 ItemList.LOGGER.error("Failed to load from mod resources, falling back to config", e);
             }
         }
 
-        // Fallback to config directory
+        // Config directory: the override, or the fallback when the bundled file is missing or broken
         Path configDir = FabricLoader.getInstance().getConfigDir().resolve("itemlist");
         File itemsFile = configDir.resolve("items.json").toFile();
 
@@ -59,13 +110,14 @@ public class ItemRegistry {
             }
 
             loadItemsFromFile(itemsFile);
-            ItemList.LOGGER.info("=== Successfully loaded {} items ===", ITEMS.size());
+            List<CustomItem> items = catalog.getItems();
+            ItemList.LOGGER.info("=== Successfully loaded {} items ===", items.size());
 
             // Log first few items for debugging
-            if (!ITEMS.isEmpty()) {
+            if (!items.isEmpty()) {
                 ItemList.LOGGER.info("Sample items loaded:");
-                for (int i = 0; i < Math.min(3, ITEMS.size()); i++) {
-                    CustomItem item = ITEMS.get(i);
+                for (int i = 0; i < Math.min(3, items.size()); i++) {
+                    CustomItem item = items.get(i);
                     ItemList.LOGGER.info("  - {} ({})", item.getName(), item.getId());
                 }
             } else {
@@ -78,6 +130,24 @@ public class ItemRegistry {
         }
     }
 
+    private static Path findBundledItemsFile() {
+        Path path = FabricLoader.getInstance().getModContainer("itemlist").get().findPath("data/items.json").orElse(null);
+        return path != null && Files.exists(path) ? path : null;
+    }
+
+    /**
+     * The items.json the catalog is loaded from. The config file wins as soon as it exists, so
+     * creating it replaces the bundled catalog; until then the bundled resource is used.
+     */
+    public static File getCatalogSource() {
+        File configFile = getConfigItemsFile();
+        if (configFile.exists()) {
+            return configFile;
+        }
+        Path bundled = findBundledItemsFile();
+        return bundled != null ? bundled.toFile() : configFile;
+    }
+
     private static void createDefaultItemsFile(File file) throws IOException {
         JsonArray items = new JsonArray();
 
@@ -373,211 +443,298 @@ public class ItemRegistry {
         return row;
     }
 
-    private static boolean ensureEssentialItems(JsonObject root, JsonArray itemsArray, File file) throws IOException {
-        boolean mutated = false;
-
-        if (!containsItem(itemsArray, "enchanted_diamond")) {
-            itemsArray.add(buildEnchantedDiamondJson());
-            mutated = true;
+    /**
+     * The built-in items whose id doesn't appear in the file. Takes the ids seen while parsing, so an
+     * entry that is present but failed to load doesn't get a second copy appended.
+     */
+    private static List<JsonObject> findMissingEssentialItems(java.util.Set<String> ids) {
+        List<JsonObject> missing = new ArrayList<>();
+        if (!ids.contains("enchanted_diamond")) {
+            missing.add(buildEnchantedDiamondJson());
         }
-        if (!containsItem(itemsArray, "enchanted_stick")) {
-            itemsArray.add(buildEnchantedStickJson());
-            mutated = true;
+        if (!ids.contains("enchanted_stick")) {
+            missing.add(buildEnchantedStickJson());
         }
-        if (!containsItem(itemsArray, "enchanted_diamond_sword")) {
-            itemsArray.add(buildEnchantedDiamondSwordJson());
-            mutated = true;
+        if (!ids.contains("enchanted_diamond_sword")) {
+            missing.add(buildEnchantedDiamondSwordJson());
         }
+        return missing;
+    }
 
-        if (mutated) {
-            try (FileWriter writer = new FileWriter(file)) {
-                GSON.toJson(root, writer);
-            }
+    // Rare path: only runs when the file lacks one of the built-in items, so a DOM rewrite is fine here
+    private static void appendItemsToFile(File file, List<JsonObject> extraItems) throws IOException {
+        JsonObject root;
+        try (FileReader reader = new FileReader(file)) {
+            root = GSON.fromJson(reader, JsonObject.class);
+        }
+        JsonArray itemsArray = root.getAsJsonArray("items");
+        for (JsonObject extra : extraItems) {
+            itemsArray.add(extra);
+        }
+        try (FileWriter writer = new FileWriter(file)) {
+            GSON.toJson(root, writer);
         }
+    }
 
-        return mutated;
+    /**
+     * Snapshot file for a catalog source. The bundled resource and the config file each get their
+     * own, so loading one never overwrites the other's fast path.
+     */
+    private static Path getSnapshotFile(File source) {
+        String name = source.getAbsoluteFile().equals(getConfigItemsFile().getAbsoluteFile()) ? "config" : "bundled";
+        return FabricLoader.getInstance().getConfigDir().resolve("itemlist").resolve("catalog-" + name + ".bin");
     }
 
-    private static boolean containsItem(JsonArray itemsArray, String id) {
-        for (JsonElement element : itemsArray) {
-            if (element.isJsonObject()) {
-                JsonObject obj = element.getAsJsonObject();
-                if (obj.has("id") && id.equals(obj.get("id").getAsString())) {
-                    return true;
-                }
-            }
+    private static void loadItemsFromFile(File file) throws IOException {
+        List<CustomItem> items = readItemsFromFile(file);
+        if (items != null) {
+            CatalogShards.loadInto(items);
+            interner = new CatalogInterner();
+            publish(items, items);
         }
-        return false;
     }
 
-    private static void loadItemsFromFile(File file) throws IOException {
-        ItemList.LOGGER.info("Reading file: {}", file.getAbsolutePath());
-        ItemList.LOGGER.info("File size: {} bytes", file.length());
+    /**
+     * Interns {@code newItems}, which must not be in the live catalog yet, and swaps in a catalog
+     * of {@code items}. Items carried over from the live catalog are already interned and are
+     * never written to again.
+     */
+    private static void publish(List<CustomItem> items, List<CustomItem> newItems) {
+        CatalogInterner.MemoryReport report = interner.internItems(newItems);
+        memoryReport = report;
+        ItemList.LOGGER.info("Catalog memory of {} newly loaded items: {}", newItems.size(), report);
+        catalog = new Catalog(items);
+        if (registriesReady) {
+            resolveMaterials();
+        }
+    }
 
-        try (FileReader reader = new FileReader(file)) {
-            JsonObject root = GSON.fromJson(reader, JsonObject.class);
+    /**
+     * Called once the item registry is frozen. Resolves the current catalog now and every
+     * catalog published afterwards as part of publishing it.
+     */
+    public static void onRegistriesReady() {
+        registriesReady = true;
+        resolveMaterials();
+    }
 
-            if (root == null) {
-                ItemList.LOGGER.error("PARSE ERROR: Failed to parse items.json - file is empty or invalid JSON");
-                return;
+    /**
+     * Resolves the materials of every item in the current catalog that isn't resolved yet to their
+     * registry items, so drawing needs no registry lookups, and logs the unknown ones once. Items
+     * kept from the previous catalog by a reload are already resolved and keep their display stacks.
+     */
+    public static synchronized void resolveMaterials() {
+        Catalog current = catalog;
+        if (current.getVersion() == resolvedVersion) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<String, List<String>> unresolved = new TreeMap<>();
+        int resolved = 0;
+        for (CustomItem item : current.getItems()) {
+            if (item.isResolved()) {
+                continue;
             }
+            resolved++;
+            if (!item.resolve()) {
+                unresolved.computeIfAbsent(item.getMaterial(), k -> new ArrayList<>()).add(item.getId());
+            }
+            for (CustomItem.CraftingRecipe recipe : item.getRecipes()) {
+                for (CustomItem.RecipeIngredient[] row : recipe.getPattern()) {
+                    for (CustomItem.RecipeIngredient ingredient : row) {
+                        if (ingredient == null) {
+                            continue;
+                        }
+                        if (!ingredient.resolve()
+                                || (ingredient.isCustomItem() && current.getById(ingredient.getMaterial()) == null)) {
+                            unresolved.computeIfAbsent(ingredient.getMaterial(), k -> new ArrayList<>()).add(item.getId() + " (recipe)");
+                        }
+                    }
+                }
+            }
+        }
+        resolvedVersion = current.getVersion();
 
-            ItemList.LOGGER.info("JSON parsed successfully");
+        ItemList.LOGGER.info("Resolved materials for {} of {} items in {} ms", resolved, current.size(), (System.nanoTime() - start) / 1_000_000);
+        if (!unresolved.isEmpty()) {
+            ItemList.LOGGER.warn("{} unresolved materials (shown as barriers):", unresolved.size());
+            for (Map.Entry<String, List<String>> entry : unresolved.entrySet()) {
+                ItemList.LOGGER.warn("  - {} used by {}", entry.getKey(), entry.getValue());
+            }
+        }
+    }
 
-            if (!root.has("items")) {
-                ItemList.LOGGER.error("ERROR: items.json missing 'items' array. Root keys: {}", root.keySet());
-                return;
+    /**
+     * Estimated string and lore memory of the most recently interned items (the whole catalog after
+     * a full load, the added and changed items after a hot reload) before and after deduplication,
+     * or null before the first load.
+     */
+    public static CatalogInterner.MemoryReport getMemoryReport() {
+        return memoryReport;
+    }
+
+    /**
+     * Re-reads {@link #getCatalogSource()} plus any items.d shards and swaps in the result. Items
+     * whose content is unchanged keep their existing instance, so only added and changed entries are
+     * new objects. Returns the applied diff, or null if the file could not be loaded.
+     */
+    public static synchronized CatalogDiff reloadItems(boolean shardsChanged) {
+        File file = getCatalogSource();
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            if (!shardsChanged && file.equals(loadedSource)
+                    && Arrays.equals(CatalogSnapshot.hashFile(file.toPath()), loadedSourceHash)) {
+                return new CatalogDiff(List.of(), List.of(), List.of());
             }
 
-            JsonArray itemsArray = root.getAsJsonArray("items");
-            boolean appendedDefaults = ensureEssentialItems(root, itemsArray, file);
-            if (appendedDefaults) {
-                ItemList.LOGGER.info("Appended missing default ItemList entries to {}", file.getName());
+            List<CustomItem> fresh = readItemsFromFile(file);
+            if (fresh == null) {
+                return null;
+            }
+            CatalogShards.loadInto(fresh);
+
+            Catalog previous = catalog;
+            List<CustomItem> merged = new ArrayList<>(fresh.size());
+            List<CustomItem> added = new ArrayList<>();
+            List<CustomItem> changed = new ArrayList<>();
+            java.util.Set<String> seen = new java.util.HashSet<>();
+            for (CustomItem item : fresh) {
+                seen.add(item.getId());
+                CustomItem old = previous.getById(item.getId());
+                if (old == null) {
+                    added.add(item);
+                    merged.add(item);
+                } else if (old.hasSameContent(item)) {
+                    merged.add(old);
+                } else {
+                    changed.add(item);
+                    merged.add(item);
+                }
+            }
+            List<CustomItem> removed = new ArrayList<>();
+            for (CustomItem old : previous.getItems()) {
+                if (!seen.contains(old.getId())) {
+                    removed.add(old);
+                }
             }
-            ItemList.LOGGER.info("Found items array with {} entries", itemsArray.size());
 
-            ITEMS.clear();
+            List<CustomItem> newItems = new ArrayList<>(added);
+            newItems.addAll(changed);
+            publish(merged, newItems);
+            CatalogDiff diff = new CatalogDiff(added, changed, removed);
+            ItemList.LOGGER.info("Reloaded {}: {} added, {} changed, {} removed", file.getName(), added.size(), changed.size(), removed.size());
+            return diff;
+        } catch (Exception e) {
+            ItemList.LOGGER.error("Failed to reload {}", file.getAbsolutePath(), e);
+            return null;
+        }
+    }
 
-            int successCount = 0;
-            int failCount = 0;
+    public static File getConfigItemsFile() {
+        return FabricLoader.getInstance().getConfigDir().resolve("itemlist").resolve("items.json").toFile();
+    }
 
-            for (int idx = 0; idx < itemsArray.size(); idx++) {
-                try {
-                    JsonElement element = itemsArray.get(idx);
-                    JsonObject obj = element.getAsJsonObject();
+    private static List<CustomItem> readItemsFromFile(File file) throws IOException {
+        ItemList.LOGGER.info("Reading file: {}", file.getAbsolutePath());
+        ItemList.LOGGER.info("File size: {} bytes", file.length());
 
-                    String id = obj.get("id").getAsString();
-                    String name = obj.get("name").getAsString();
-                    String material = obj.get("material").getAsString();
+        // Fast path: reuse the binary snapshot if it was built from this exact file content
+        long snapshotStart = System.nanoTime();
+        byte[] sourceHash = CatalogSnapshot.hashFile(file.toPath());
+        List<CustomItem> cached = CatalogSnapshot.read(getSnapshotFile(file), sourceHash);
+        // The snapshot was written after any missing built-in items were appended to this content
+        if (cached != null) {
+            loadedSource = file;
+            loadedSourceHash = sourceHash;
+            ItemList.LOGGER.info("Loaded {} items from catalog snapshot in {} ms", cached.size(), (System.nanoTime() - snapshotStart) / 1_000_000);
+            return cached;
+        }
 
-                    List<String> lore = new ArrayList<>();
-                    if (obj.has("lore")) {
-                        JsonArray loreArray = obj.getAsJsonArray("lore");
-                        for (JsonElement loreElement : loreArray) {
-                            lore.add(loreElement.getAsString());
-                        }
-                    }
+        try {
+            CatalogParser.Result result;
+            try (FileReader reader = new FileReader(file)) {
+                result = CatalogParser.parse(reader);
+            }
 
-                    String description = obj.has("description") ? obj.get("description").getAsString() : "";
-                    String obtain = obj.has("obtain") ? obj.get("obtain").getAsString() : "No information available";
-                    String category = obj.has("category") ? obj.get("category").getAsString() : "Misc";
-
-                    CustomItem item = new CustomItem(id, name, material, lore, description, obtain, category);
-
-                    // Load recipe if present
-                    if (obj.has("recipe")) {
-                        JsonArray recipeArray = obj.getAsJsonArray("recipe");
-                        int numRows = recipeArray.size();
-                        if (numRows > 0) {
-                            // Determine max columns by checking all rows
-                            int maxCols = 0;
-                            for (int r = 0; r < numRows; r++) {
-                                JsonArray rowArray = recipeArray.get(r).getAsJsonArray();
-                                maxCols = Math.max(maxCols, rowArray.size());
-                            }
-
-                            CustomItem.RecipeIngredient[][] pattern = new CustomItem.RecipeIngredient[numRows][maxCols];
-
-                            for (int row = 0; row < numRows; row++) {
-                                JsonArray rowArray = recipeArray.get(row).getAsJsonArray();
-                                for (int col = 0; col < maxCols; col++) {
-                                    if (col < rowArray.size()) {
-                                        JsonElement cell = rowArray.get(col);
-                                        if (cell.isJsonNull() || cell.getAsString().isEmpty()) {
-                                            pattern[row][col] = null;
-                                        } else {
-                                            String cellValue = cell.getAsString();
-                                            // Parse format: "material:count" or just "material"
-                                            // Handle minecraft:item_name vs minecraft:item_name:count
-                                            String ingredientMaterial;
-                                            int count = 1;
-
-                                            // Check if there's a count at the end (last colon)
-                                            int lastColon = cellValue.lastIndexOf(':');
-                                            if (lastColon != -1 && lastColon < cellValue.length() - 1) {
-                                                String possibleCount = cellValue.substring(lastColon + 1);
-                                                try {
-                                                    count = Integer.parseInt(possibleCount);
-                                                    ingredientMaterial = cellValue.substring(0, lastColon);
-                                                } catch (NumberFormatException e) {
-                                                    // Not a count, it's part of the material name
-                                                    ingredientMaterial = cellValue;
-                                                    count = 1;
-                                                }
-                                            } else {
-                                                ingredientMaterial = cellValue;
-                                            }
-
-                                            pattern[row][col] = new CustomItem.RecipeIngredient(ingredientMaterial, count);
-                                        }
-                                    } else {
-                                        pattern[row][col] = null;
-                                    }
-                                }
-                            }
-
-                            int outputCount = obj.has("outputCount") ? obj.get("outputCount").getAsInt() : 1;
-                            item.addRecipe(new CustomItem.CraftingRecipe(pattern, outputCount));
-                        }
-                    }
+            ItemList.LOGGER.info("JSON parsed successfully");
 
-                    ITEMS.add(item);
-                    successCount++;
+            if (!result.hasItemsArray()) {
+                ItemList.LOGGER.error("ERROR: items.json missing 'items' array");
+                return null;
+            }
 
-                } catch (Exception e) {
-                    failCount++;
-                    ItemList.LOGGER.error("Failed to load item at index {}", idx, e);
+            List<CustomItem> items = result.getItems();
+            List<JsonObject> missing = findMissingEssentialItems(result.getSeenIds());
+            if (!missing.isEmpty()) {
+                appendItemsToFile(file, missing);
+                for (JsonObject extra : missing) {
+                    items.add(CatalogParser.readItem(new JsonReader(new StringReader(extra.toString()))));
                 }
+                ItemList.LOGGER.info("Appended missing default ItemList entries to {}", file.getName());
+                sourceHash = CatalogSnapshot.hashFile(file.toPath());
             }
+            ItemList.LOGGER.info("Found items array with {} entries", items.size() + result.getFailCount());
 
-            ItemList.LOGGER.info("Loaded {} items successfully, {} failed", successCount, failCount);
+            ItemList.LOGGER.info("Loaded {} items successfully, {} failed", items.size(), result.getFailCount());
+            CatalogSnapshot.write(getSnapshotFile(file), sourceHash, items);
+            loadedSource = file;
+            loadedSourceHash = sourceHash;
+            return items;
         } catch (Exception e) {
             ItemList.LOGGER.error("CRITICAL ERROR reading items.json", e);
             throw e;
         }
     }
 
+    /**
+     * The current catalog snapshot. Hold on to the returned instance for a consistent view
+     * across several reads.
+     */
+    public static Catalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * All items of the current catalog. The list is shared and unmodifiable; copy it before mutating.
+     */
     public static List<CustomItem> getAllItems() {
-        return new ArrayList<>(ITEMS);
+        return catalog.getItems();
     }
 
+    /**
+     * Items matching {@code query} in catalog order. Queries using the {@link SearchQuery}
+     * syntax are planned against the catalog's indexes; plain text is a substring search.
+     */
     public static List<CustomItem> searchItems(String query) {
-        if (query == null || query.isEmpty()) {
-            return getAllItems();
-        }
+        Catalog current = catalog;
+        SearchQuery parsed = SearchQuery.parse(query);
+        return parsed.isPlain() ? current.getSearchIndex().search(query) : parsed.run(current, () -> false);
+    }
 
-        boolean searchAll = query.startsWith("#");
-        String actualQuery = searchAll ? query.substring(1) : query;
-        if (actualQuery.isEmpty()) {
-            return getAllItems();
-        }
+    /**
+     * Typo-tolerant search ranked by relevance, best match first, at most {@code limit} items.
+     * See {@link FuzzySearch}.
+     */
+    public static List<CustomItem> searchItemsFuzzy(String query, int limit) {
+        return FuzzySearch.search(catalog.getItems(), query, limit, () -> false);
+    }
 
-        String lowerQuery = actualQuery.toLowerCase();
-        List<CustomItem> results = new ArrayList<>();
-        for (CustomItem item : ITEMS) {
-            if (searchAll) {
-                // Search name, description, and lore
-                if (item.getName().toLowerCase().contains(lowerQuery) ||
-                    item.getDescription().toLowerCase().contains(lowerQuery) ||
-                    item.getLore().stream().anyMatch(l -> l.toLowerCase().contains(lowerQuery))) {
-                    results.add(item);
-                }
-            } else {
-                // Search only name
-                if (item.getName().toLowerCase().contains(lowerQuery)) {
-                    results.add(item);
-                }
-            }
-        }
-        return results;
+    /**
+     * Same matching rules as {@link #searchItems(String)}, for checking a single item.
+     */
+    public static boolean matchesQuery(CustomItem item, String query) {
+        SearchQuery parsed = SearchQuery.parse(query);
+        return parsed.isPlain() ? SearchIndex.matches(item, query) : parsed.matches(catalog, item);
     }
 
     public static CustomItem getItemById(String id) {
-        for (CustomItem item : ITEMS) {
-            if (item.getId().equals(id)) {
-                return item;
-            }
-        }
-        return null;
+        return catalog.getById(id);
+    }
+
+    public static CustomItem getItemByName(String name) {
+        return catalog.getByName(name);
     }
 }
@@ -0,0 +1,100 @@
+package com.self.itemlist;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Item ordinals by material, by recipe ingredient and for items with a recipe, for the
+ * {@code mat:}, {@code uses:} and {@code has:recipe} search terms. Built once per catalog.
+ * Materials and ingredient ids are matched ignoring case.
+ */
+public class MaterialIndex {
+    private static final int[] NO_ITEMS = new int[0];
+
+    private final Map<String, int[]> byMaterial;
+    private final Map<String, int[]> byIngredient;
+    private final int[] withRecipes;
+
+    MaterialIndex(List<CustomItem> items) {
+        Map<String, List<Integer>> materials = new HashMap<>();
+        Map<String, List<Integer>> ingredients = new HashMap<>();
+        List<Integer> recipes = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            CustomItem item = items.get(i);
+            materials.computeIfAbsent(key(item.getMaterial()), k -> new ArrayList<>()).add(i);
+            if (item.getRecipes().isEmpty()) {
+                continue;
+            }
+            recipes.add(i);
+            for (CustomItem.CraftingRecipe recipe : item.getRecipes()) {
+                for (CustomItem.RecipeIngredient[] row : recipe.getPattern()) {
+                    for (CustomItem.RecipeIngredient ingredient : row) {
+                        if (ingredient == null) {
+                            continue;
+                        }
+                        List<Integer> users = ingredients.computeIfAbsent(key(ingredient.getMaterial()), k -> new ArrayList<>());
+                        // Ordinals arrive in order, so a repeat can only be the last entry
+                        if (users.isEmpty() || users.get(users.size() - 1) != i) {
+                            users.add(i);
+                        }
+                    }
+                }
+            }
+        }
+        this.byMaterial = freeze(materials);
+        this.byIngredient = freeze(ingredients);
+        this.withRecipes = toArray(recipes);
+    }
+
+    private static String key(String material) {
+        return material.toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, int[]> freeze(Map<String, List<Integer>> lists) {
+        Map<String, int[]> frozen = new HashMap<>(lists.size() * 4 / 3 + 1);
+        for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+            frozen.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        return frozen;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Sorted ordinals of the items made of {@code material}. A material without a namespace also
+     * matches the minecraft one, so "diamond" finds "minecraft:diamond".
+     */
+    public int[] withMaterial(String material) {
+        return lookup(byMaterial, material);
+    }
+
+    /**
+     * Sorted ordinals of the items with a recipe that uses {@code material}, which is either a
+     * vanilla item id or a custom item id.
+     */
+    public int[] usingIngredient(String material) {
+        return lookup(byIngredient, material);
+    }
+
+    public int[] withRecipes() {
+        return withRecipes;
+    }
+
+    private static int[] lookup(Map<String, int[]> map, String material) {
+        material = key(material);
+        int[] found = map.get(material);
+        if (found == null && material.indexOf(':') < 0) {
+            found = map.get("minecraft:" + material);
+        }
+        return found != null ? found : NO_ITEMS;
+    }
+}
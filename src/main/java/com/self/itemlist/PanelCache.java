@@ -0,0 +1,136 @@
+package com.self.itemlist;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.SimpleFramebuffer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferRenderer;
+import net.minecraft.client.render.GameRenderer;
+import net.minecraft.client.render.Tessellator;
+import net.minecraft.client.render.VertexFormat;
+import net.minecraft.client.render.VertexFormats;
+import net.minecraft.client.util.Window;
+import org.joml.Matrix4f;
+
+import java.util.List;
+
+/**
+ * An offscreen copy of the static part of the overlay panel. The panel is drawn into a window
+ * sized framebuffer when what it shows changes, and at most {@link #REFRESH_NANOS} apart so
+ * animated item textures still move, if slowly. The framebuffer is copied onto the screen every
+ * frame. Only used on the render thread.
+ */
+public class PanelCache {
+    private static final long REFRESH_NANOS = 250_000_000L;
+
+    private SimpleFramebuffer framebuffer;
+    private boolean valid = false;
+    private long capturedAt;
+    private ItemListScreen.Layout layout;
+    private List<CustomItem> items;
+    private int scroll;
+
+    /**
+     * Forces a redraw on the next frame, for changes the state passed to {@link #isCurrent} does
+     * not show, like the selected filters.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * True if the cached image was drawn for this layout, result list (compared by identity) and
+     * scroll offset, is recent enough, and the window has not been resized since.
+     */
+    public boolean isCurrent(ItemListScreen.Layout layout, List<CustomItem> items, int scroll) {
+        Window window = MinecraftClient.getInstance().getWindow();
+        boolean current = valid && framebuffer != null
+                && System.nanoTime() - capturedAt < REFRESH_NANOS
+                && framebuffer.textureWidth == window.getFramebufferWidth()
+                && framebuffer.textureHeight == window.getFramebufferHeight()
+                && this.layout == layout && this.items == items && this.scroll == scroll;
+        this.layout = layout;
+        this.items = items;
+        this.scroll = scroll;
+        return current;
+    }
+
+    /**
+     * Flushes what was drawn so far and sends further drawing to the cleared framebuffer, until
+     * {@link #endCapture}.
+     */
+    public void beginCapture(DrawContext context) {
+        MinecraftClient client = MinecraftClient.getInstance();
+        Window window = client.getWindow();
+        int width = window.getFramebufferWidth();
+        int height = window.getFramebufferHeight();
+        if (framebuffer == null) {
+            framebuffer = new SimpleFramebuffer(width, height, true, MinecraftClient.IS_SYSTEM_MAC);
+        } else if (framebuffer.textureWidth != width || framebuffer.textureHeight != height) {
+            framebuffer.resize(width, height, MinecraftClient.IS_SYSTEM_MAC);
+        }
+
+        context.draw();
+        framebuffer.setClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        framebuffer.clear(MinecraftClient.IS_SYSTEM_MAC);
+        framebuffer.beginWrite(false);
+        // Accumulate alpha instead of replacing it, so the image ends up premultiplied for draw()
+        RenderSystem.enableBlend();
+        RenderSystem.blendFuncSeparate(GlStateManager.SrcFactor.SRC_ALPHA, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA,
+                GlStateManager.SrcFactor.ONE, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+    }
+
+    public void endCapture(DrawContext context) {
+        context.draw();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+        MinecraftClient.getInstance().getFramebuffer().beginWrite(false);
+        valid = true;
+        capturedAt = System.nanoTime();
+    }
+
+    /**
+     * Copies the cached image of the given area, in scaled screen coordinates, onto the screen.
+     */
+    public void draw(DrawContext context, int x, int y, int width, int height) {
+        if (framebuffer == null) {
+            return;
+        }
+        double scale = MinecraftClient.getInstance().getWindow().getScaleFactor();
+        float u0 = (float) (x * scale / framebuffer.textureWidth);
+        float u1 = (float) ((x + width) * scale / framebuffer.textureWidth);
+        // Framebuffer rows run bottom to top
+        float v0 = 1.0f - (float) (y * scale / framebuffer.textureHeight);
+        float v1 = 1.0f - (float) ((y + height) * scale / framebuffer.textureHeight);
+
+        context.draw();
+        RenderSystem.setShaderTexture(0, framebuffer.getColorAttachment());
+        RenderSystem.setShader(GameRenderer::getPositionTexProgram);
+        RenderSystem.disableDepthTest();
+        RenderSystem.enableBlend();
+        // beginCapture() blended the panel onto a transparent buffer, so its colors are premultiplied
+        RenderSystem.blendFunc(GlStateManager.SrcFactor.ONE, GlStateManager.DstFactor.ONE_MINUS_SRC_ALPHA);
+
+        Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
+        BufferBuilder buffer = Tessellator.getInstance().begin(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
+        buffer.vertex(matrix, x, y, 0.0f).texture(u0, v0);
+        buffer.vertex(matrix, x, y + height, 0.0f).texture(u0, v1);
+        buffer.vertex(matrix, x + width, y + height, 0.0f).texture(u1, v1);
+        buffer.vertex(matrix, x + width, y, 0.0f).texture(u1, v0);
+        BufferRenderer.drawWithGlobalProgram(buffer.end());
+
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+        RenderSystem.enableDepthTest();
+    }
+
+    public void close() {
+        if (framebuffer != null) {
+            framebuffer.delete();
+            framebuffer = null;
+        }
+        valid = false;
+    }
+}
@@ -6,7 +6,6 @@ import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.gui.widget.TextFieldWidget;
-import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import org.lwjgl.glfw.GLFW;
@@ -122,8 +121,7 @@ public class RecipeEditorScreen extends Screen {
 
                     // Draw ingredient
                     if (recipe.getPattern()[row][col] != null) {
-                        ItemStack stack = recipe.getPattern()[row][col].toItemStack();
-                        context.drawItem(stack, slotX, slotY);
+                        context.drawItem(recipe.getPattern()[row][col].getDisplayStack(), slotX, slotY);
 
                         // Draw count if > 1
                         if (recipe.getPattern()[row][col].getCount() > 1) {
@@ -141,8 +139,7 @@ public class RecipeEditorScreen extends Screen {
             context.fill(resultX, resultY, resultX + 16, resultY + 16, 0xFF3F3F3F);
             context.drawBorder(resultX, resultY, 16, 16, 0xFFFFAA00);
 
-            ItemStack resultStack = item.toItemStack();
-            context.drawItem(resultStack, resultX, resultY);
+            context.drawItem(item.getDisplayStack(), resultX, resultY);
         }
 
         // Draw texture editing section
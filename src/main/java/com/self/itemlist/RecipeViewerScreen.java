@@ -7,6 +7,7 @@ import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
+import net.minecraft.text.OrderedText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import org.lwjgl.glfw.GLFW;
@@ -20,12 +21,23 @@ public class RecipeViewerScreen extends Screen {
     private final int gridCols = 10;
     private final int gridRows = 7;
     private int outputCount = 1;
+    // Count-1 copies of the inventory stacks for drawing, built once with the screen
+    private final ItemStack[] displayStacks;
+    private final ItemStack glassPane = new ItemStack(Items.GRAY_STAINED_GLASS_PANE);
+    // Which catalog item (result or custom ingredient) and which recipe cell each slot shows
+    private final CustomItem[] slotItems;
+    private final CustomItem.RecipeIngredient[] slotIngredients;
+    // Tooltip per slot, built the first time the slot is hovered
+    private final List<List<Text>> slotTooltips;
 
     public RecipeViewerScreen(CustomItem item, Screen parent) {
         super(Text.literal("Recipe: " + item.getName()));
         this.item = item;
         this.parent = parent;
         this.inventory = new SimpleInventory(70); // 10 rows x 7 columns = 70 slots
+        this.slotItems = new CustomItem[gridCols * gridRows];
+        this.slotIngredients = new CustomItem.RecipeIngredient[gridCols * gridRows];
+        this.slotTooltips = new java.util.ArrayList<>(java.util.Collections.nCopies(gridCols * gridRows, null));
 
         // Set up the inventory with recipe items
         if (!item.getRecipes().isEmpty()) {
@@ -34,9 +46,14 @@ public class RecipeViewerScreen extends Screen {
             // Place ingredients centered around column 3, row 4, moved up and left one (cols 1-3, rows 2-4)
             for (int row = 0; row < recipe.getRows() && row < 3; row++) {
                 for (int col = 0; col < recipe.getCols() && col < 3; col++) {
-                    if (recipe.getPattern()[row][col] != null) {
-                        ItemStack ingredientStack = recipe.getPattern()[row][col].toItemStack();
-                        inventory.setStack((row + 2) * gridCols + (col + 1), ingredientStack);
+                    CustomItem.RecipeIngredient ingredient = recipe.getPattern()[row][col];
+                    if (ingredient != null) {
+                        int slot = (row + 2) * gridCols + (col + 1);
+                        inventory.setStack(slot, ingredient.toItemStack());
+                        slotIngredients[slot] = ingredient;
+                        if (ingredient.isCustomItem()) {
+                            slotItems[slot] = ItemRegistry.getItemById(ingredient.getMaterial());
+                        }
                     }
                 }
             }
@@ -46,10 +63,17 @@ public class RecipeViewerScreen extends Screen {
             outputCount = recipe.getOutputCount();
             resultStack.setCount(outputCount); // Show the actual output count
             inventory.setStack(3 * gridCols + 7, resultStack);
+            slotItems[3 * gridCols + 7] = item;
 
             // Add anvil at column 6, row 4 (0-based: row 3, col 5)
             inventory.setStack(3 * gridCols + 5, new ItemStack(Items.ANVIL));
         }
+
+        this.displayStacks = new ItemStack[gridCols * gridRows];
+        for (int i = 0; i < displayStacks.length; i++) {
+            ItemStack stack = inventory.getStack(i);
+            displayStacks[i] = stack.getCount() == 1 ? stack : stack.copyWithCount(1);
+        }
     }
 
     @Override
@@ -82,7 +106,6 @@ public class RecipeViewerScreen extends Screen {
         context.drawBorder(gridX - 5, gridY - 5, gridWidth + 10, gridHeight + 10, 0xFF8B8B8B);
 
         // Draw grey stained glass pane border around the inventory, excluding the slot to the right of the result
-        ItemStack glassPane = new ItemStack(Items.GRAY_STAINED_GLASS_PANE);
         for (int row = 0; row < gridRows; row++) {
             for (int col = 0; col < gridCols; col++) {
                 if ((row == 0 || row == gridRows - 1 || col == 0 || col == gridCols - 1) && !(col == gridCols - 2 && row == 3)) {
@@ -94,14 +117,13 @@ public class RecipeViewerScreen extends Screen {
         }
 
         // Fill all empty slots with gray stained glass panes, excluding border and the slot to the right of the result
-        ItemStack grayGlassPane = new ItemStack(Items.GRAY_STAINED_GLASS_PANE);
         for (int row = 0; row < gridRows; row++) {
             for (int col = 0; col < gridCols; col++) {
                 int slotIndex = row * gridCols + col;
                 if (inventory.getStack(slotIndex).isEmpty() && !(row == 0 || row == gridRows - 1 || col == 0 || col == gridCols - 1) && !(col == gridCols - 2 && row == 3)) {
                     int slotX = gridX + col * slotSize;
                     int slotY = gridY + row * slotSize;
-                    context.drawItem(grayGlassPane, slotX, slotY);
+                    context.drawItem(glassPane, slotX, slotY);
                 }
             }
         }
@@ -130,10 +152,8 @@ public class RecipeViewerScreen extends Screen {
                 int slotX = gridX + col * slotSize;
                 int slotY = gridY + row * slotSize;
 
-                ItemStack stack = inventory.getStack(row * gridCols + col);
-                if (!stack.isEmpty()) {
-                    ItemStack displayStack = stack.copy();
-                    displayStack.setCount(1);
+                ItemStack displayStack = displayStacks[row * gridCols + col];
+                if (!displayStack.isEmpty()) {
                     context.drawItem(displayStack, slotX, slotY);
                 }
             }
@@ -194,73 +214,45 @@ public class RecipeViewerScreen extends Screen {
         context.fill(boxX, boxY, boxX + boxWidth, boxY + boxHeight, 0xC0000000);
         context.drawBorder(boxX, boxY, boxWidth, boxHeight, 0xFF8B8B8B);
 
-        // Draw item name
-        context.drawText(this.textRenderer, Text.literal(item.getName()), boxX + 5, boxY + 5, 0xFFFFFF, true);
-
-        // Draw description with wrapping
-        int yOffset = boxY + 20;
-        Text descText = Text.literal("Description: " + item.getDescription());
-        context.drawTextWrapped(this.textRenderer, descText, boxX + 5, yOffset, boxWidth - 10, 0xAAAAAA);
-        yOffset += this.textRenderer.getWrappedLinesHeight(descText, boxWidth - 10) + 5;
-
-        // Draw lore with wrapping
-        for (String loreLine : item.getLore()) {
-            Text loreText = Text.literal(loreLine);
-            context.drawTextWrapped(this.textRenderer, loreText, boxX + 5, yOffset, boxWidth - 10, 0xAAAAAA);
-            yOffset += this.textRenderer.getWrappedLinesHeight(loreText, boxWidth - 10) + 5;
-        }
-
-        // If no recipes, show how to obtain
-        if (item.getRecipes().isEmpty()) {
-            Text obtainText = Text.literal("How to obtain: " + item.getObtain());
-            context.drawTextWrapped(this.textRenderer, obtainText, boxX + 5, yOffset, boxWidth - 10, 0xAAAAAA);
+        // Draw item name, then the description, lore and obtain info wrapped once per item and width
+        TooltipCache.InfoBox info = TooltipCache.getInfoBox(item, this.textRenderer, boxWidth - 10);
+        context.drawText(this.textRenderer, info.getName(), boxX + 5, boxY + 5, 0xFFFFFF, true);
+        List<OrderedText> lines = info.getLines();
+        for (int i = 0; i < lines.size(); i++) {
+            context.drawText(this.textRenderer, lines.get(i), boxX + 5, boxY + 20 + info.getOffset(i), 0xAAAAAA, false);
         }
     }
 
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
-        // Handle clicks on inventory slots
-        int slotSize = 18;
-        int gridWidth = gridCols * slotSize;
-        int gridHeight = gridRows * slotSize;
-        int gridX = (this.width - gridWidth) / 2;
-        int gridY = (this.height - gridHeight) / 2;
-
-        for (int row = 0; row < gridRows; row++) {
-            for (int col = 0; col < gridCols; col++) {
-                int slotX = gridX + col * slotSize;
-                int slotY = gridY + row * slotSize;
-
-                if (mouseX >= slotX && mouseX < slotX + 16 && mouseY >= slotY && mouseY < slotY + 16) {
-                    ItemStack stack = inventory.getStack(row * gridCols + col);
-                    if (!stack.isEmpty()) {
-                        // Check if this is a custom item ingredient
-                        if (!item.getRecipes().isEmpty()) {
-                            CustomItem.CraftingRecipe recipe = item.getRecipes().get(0);
-                            if (row >= 2 && row <= 4 && col >= 1 && col <= 3) {
-                                int patRow = row - 2;
-                                int patCol = col - 1;
-                                if (patRow < recipe.getRows() && patCol < recipe.getCols() && recipe.getPattern()[patRow][patCol] != null) {
-                                    CustomItem.RecipeIngredient ri = recipe.getPattern()[patRow][patCol];
-                                    if (ri.isCustomItem()) {
-                                        CustomItem ingredient = ItemRegistry.getItemById(ri.getMaterial());
-                                        if (ingredient != null) {
-                                            // Open recipe for this ingredient
-                                            MinecraftClient.getInstance().setScreen(new RecipeViewerScreen(ingredient, this));
-                                            return true;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        // Handle clicks on custom item ingredients: open that item's recipe
+        int slot = slotAt(mouseX, mouseY);
+        if (slot >= 0 && slotIngredients[slot] != null && slotItems[slot] != null) {
+            MinecraftClient.getInstance().setScreen(new RecipeViewerScreen(slotItems[slot], this));
+            return true;
         }
 
         return super.mouseClicked(mouseX, mouseY, button);
     }
 
+    /**
+     * Index of the inventory slot under the mouse, or -1. Only the 16x16 item area counts.
+     */
+    private int slotAt(double mouseX, double mouseY) {
+        int slotSize = 18;
+        double dx = mouseX - (this.width - gridCols * slotSize) / 2;
+        double dy = mouseY - (this.height - gridRows * slotSize) / 2;
+        if (dx < 0 || dy < 0) {
+            return -1;
+        }
+        int col = (int) dx / slotSize;
+        int row = (int) dy / slotSize;
+        if (col >= gridCols || row >= gridRows || dx - col * slotSize >= 16 || dy - row * slotSize >= 16) {
+            return -1;
+        }
+        return row * gridCols + col;
+    }
+
     @Override
     public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
         if (keyCode == GLFW.GLFW_KEY_ESCAPE) {
@@ -271,55 +263,50 @@ public class RecipeViewerScreen extends Screen {
     }
 
     private void renderTooltips(DrawContext context, int mouseX, int mouseY) {
-        // Calculate inventory grid position (centered)
-        int slotSize = 18;
-        int gridWidth = gridCols * slotSize;
-        int gridHeight = gridRows * slotSize;
-        int gridX = (this.width - gridWidth) / 2;
-        int gridY = (this.height - gridHeight) / 2;
+        int slot = slotAt(mouseX, mouseY);
+        if (slot < 0 || inventory.getStack(slot).isEmpty()) {
+            return;
+        }
 
-        for (int row = 0; row < gridRows; row++) {
-            for (int col = 0; col < gridCols; col++) {
-                int slotX = gridX + col * slotSize;
-                int slotY = gridY + row * slotSize;
+        List<Text> tooltip = slotTooltips.get(slot);
+        if (tooltip == null) {
+            tooltip = buildSlotTooltip(slot);
+            slotTooltips.set(slot, tooltip);
+        }
+        if (!tooltip.isEmpty()) {
+            context.drawTooltip(this.textRenderer, tooltip, mouseX, mouseY);
+        }
+    }
 
-                if (mouseX >= slotX && mouseX < slotX + 16 && mouseY >= slotY && mouseY < slotY + 16) {
-                    ItemStack stack = inventory.getStack(row * gridCols + col);
-                    if (!stack.isEmpty()) {
-                        List<Text> tooltip = new java.util.ArrayList<>();
-                        if (!stack.getItem().equals(Items.ANVIL)) {
-                            tooltip.add(Text.literal(stack.getName().getString()));
-                            // Add additional info for custom items
-                            for (CustomItem customItem : ItemRegistry.getAllItems()) {
-                                if (customItem.toItemStack().getItem() == stack.getItem()) {
-                                    // Add lore
-                                    for (String loreLine : customItem.getLore()) {
-                                        tooltip.add(Text.literal(loreLine));
-                                    }
-                                    // Add description
-                                    if (!customItem.getDescription().isEmpty()) {
-                                        tooltip.add(Text.literal("Description: " + customItem.getDescription()));
-                                    }
-                                    // Add obtain info
-                                    if (!customItem.getObtain().isEmpty()) {
-                                        tooltip.add(Text.literal("Obtain: " + customItem.getObtain()));
-                                    }
-                                    // Add category
-                                    if (!customItem.getCategory().isEmpty()) {
-                                        tooltip.add(Text.literal("Category: " + customItem.getCategory()));
-                                    }
-                                    break;
-                                }
-                            }
-                        }
-                        if (!tooltip.isEmpty()) {
-                            context.drawTooltip(this.textRenderer, tooltip, mouseX, mouseY);
-                        }
-                        return; // Only show tooltip for the first hovered item
-                    }
-                }
+    private List<Text> buildSlotTooltip(int slot) {
+        ItemStack stack = inventory.getStack(slot);
+        List<Text> tooltip = new java.util.ArrayList<>();
+        if (stack.getItem().equals(Items.ANVIL)) {
+            return tooltip;
+        }
+        tooltip.add(Text.literal(stack.getName().getString()));
+
+        // Add additional info for the result and custom item ingredients
+        CustomItem customItem = slotItems[slot];
+        if (customItem != null) {
+            // Add lore
+            for (String loreLine : customItem.getLore()) {
+                tooltip.add(Text.literal(loreLine));
+            }
+            // Add description
+            if (!customItem.getDescription().isEmpty()) {
+                tooltip.add(Text.literal("Description: " + customItem.getDescription()));
+            }
+            // Add obtain info
+            if (!customItem.getObtain().isEmpty()) {
+                tooltip.add(Text.literal("Obtain: " + customItem.getObtain()));
+            }
+            // Add category
+            if (!customItem.getCategory().isEmpty()) {
+                tooltip.add(Text.literal("Category: " + customItem.getCategory()));
             }
         }
+        return tooltip;
     }
 
     @Override
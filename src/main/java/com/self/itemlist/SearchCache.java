@@ -0,0 +1,116 @@
+package com.self.itemlist;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Least recently used cache of overlay search results, keyed by normalized query, selected
+ * categories and catalog version. Results are kept as item ordinals and read back as a view over
+ * the catalog, so an entry costs one int per result. Not thread safe; the overlay only uses it on
+ * the client thread.
+ */
+public class SearchCache {
+    private final int capacity;
+    private final Map<Key, int[]> entries;
+    private long hits = 0;
+    private long misses = 0;
+
+    public SearchCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                return size() > SearchCache.this.capacity;
+            }
+        };
+    }
+
+    private static final class Key {
+        final String query;
+        final Set<String> categories;
+        final long catalogVersion;
+
+        Key(String query, Set<String> categories, long catalogVersion) {
+            this.query = SearchText.normalize(query);
+            this.categories = categories;
+            this.catalogVersion = catalogVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return catalogVersion == other.catalogVersion && query.equals(other.query) && categories.equals(other.categories);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, categories, catalogVersion);
+        }
+    }
+
+    /**
+     * The cached results for this search against {@code catalog}, or null on a miss.
+     */
+    public List<CustomItem> get(String query, Set<String> categories, Catalog catalog) {
+        int[] ordinals = entries.get(new Key(query, categories, catalog.getVersion()));
+        if (ordinals == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new OrdinalList(catalog.getItems(), ordinals);
+    }
+
+    /**
+     * Stores {@code results}, which must all be items of {@code catalog}, and returns them in
+     * their compact form.
+     */
+    public List<CustomItem> put(String query, Set<String> categories, Catalog catalog, List<CustomItem> results) {
+        int[] ordinals = new int[results.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = catalog.ordinalOf(results.get(i));
+            if (ordinals[i] < 0) {
+                // Not from this catalog after all; don't cache something we can't read back
+                return results;
+            }
+        }
+        entries.put(new Key(query, Set.copyOf(categories), catalog.getVersion()), ordinals);
+        return new OrdinalList(catalog.getItems(), ordinals);
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    private static final class OrdinalList extends AbstractList<CustomItem> implements RandomAccess {
+        private final List<CustomItem> items;
+        private final int[] ordinals;
+
+        OrdinalList(List<CustomItem> items, int[] ordinals) {
+            this.items = items;
+            this.ordinals = ordinals;
+        }
+
+        @Override
+        public CustomItem get(int index) {
+            return items.get(ordinals[index]);
+        }
+
+        @Override
+        public int size() {
+            return ordinals.length;
+        }
+    }
+}
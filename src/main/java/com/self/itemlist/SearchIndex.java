@@ -0,0 +1,127 @@
+package com.self.itemlist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Text search over one catalog. Built once per catalog, together with it, on the loader thread.
+ */
+public class SearchIndex {
+    private final List<CustomItem> items;
+    // Item names only, for plain queries
+    private final TrigramIndex names;
+    // Name, description and lore, for '#' queries
+    private final TrigramIndex allText;
+
+    SearchIndex(List<CustomItem> items) {
+        this.items = items;
+        TrigramIndex.Builder namesBuilder = new TrigramIndex.Builder();
+        TrigramIndex.Builder allBuilder = new TrigramIndex.Builder();
+        for (int i = 0; i < items.size(); i++) {
+            CustomItem item = items.get(i);
+            namesBuilder.add(i, item.getNameKey());
+            allBuilder.add(i, item.getFullTextKey());
+        }
+        this.names = namesBuilder.build();
+        this.allText = allBuilder.build();
+    }
+
+    /**
+     * Items whose name contains the query, ignoring case, accents and formatting codes. A leading
+     * '#' also searches the description and lore. Results are in catalog order.
+     */
+    public List<CustomItem> search(String query) {
+        if (query == null || query.isEmpty()) {
+            return items;
+        }
+
+        boolean searchAll = query.startsWith("#");
+        String actualQuery = searchAll ? query.substring(1) : query;
+        if (actualQuery.isEmpty()) {
+            return items;
+        }
+
+        return searchNormalized(SearchText.normalize(actualQuery), searchAll);
+    }
+
+    /**
+     * Search with a query that has already been split from its '#' prefix and normalized.
+     */
+    public List<CustomItem> searchNormalized(String normalizedQuery, boolean searchAll) {
+        return searchNormalized(normalizedQuery, searchAll, () -> false);
+    }
+
+    /**
+     * Like {@link #searchNormalized(String, boolean)}, but polls {@code cancelled} while scanning
+     * and throws {@link CancellationException} once it returns true.
+     */
+    public List<CustomItem> searchNormalized(String normalizedQuery, boolean searchAll, BooleanSupplier cancelled) {
+        if (normalizedQuery.isEmpty()) {
+            return items;
+        }
+        int[] candidates = (searchAll ? allText : names).candidates(normalizedQuery);
+        List<CustomItem> results = new ArrayList<>();
+        if (candidates == null) {
+            // Too short for trigrams, check everything
+            for (int i = 0; i < items.size(); i++) {
+                checkCancelled(i, cancelled);
+                CustomItem item = items.get(i);
+                if (matchesNormalized(item, normalizedQuery, searchAll)) {
+                    results.add(item);
+                }
+            }
+        } else {
+            for (int i = 0; i < candidates.length; i++) {
+                checkCancelled(i, cancelled);
+                CustomItem item = items.get(candidates[i]);
+                if (matchesNormalized(item, normalizedQuery, searchAll)) {
+                    results.add(item);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Sorted ordinals of the items whose name may contain {@code normalizedText}, or null if the
+     * text is too short for the index.
+     */
+    public int[] nameCandidates(String normalizedText) {
+        return names.candidates(normalizedText);
+    }
+
+    /**
+     * Like {@link #nameCandidates(String)}, over name, description and lore.
+     */
+    public int[] textCandidates(String normalizedText) {
+        return allText.candidates(normalizedText);
+    }
+
+    /**
+     * Same matching rules as {@link #search(String)}, for checking a single item.
+     */
+    public static boolean matches(CustomItem item, String query) {
+        if (query == null || query.isEmpty()) {
+            return true;
+        }
+        boolean searchAll = query.startsWith("#");
+        String actualQuery = searchAll ? query.substring(1) : query;
+        return matchesNormalized(item, SearchText.normalize(actualQuery), searchAll);
+    }
+
+    /**
+     * Polls the cancellation flag every 1024 iterations of a scan.
+     */
+    static void checkCancelled(int iteration, BooleanSupplier cancelled) {
+        if ((iteration & 1023) == 0 && cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+    }
+
+    static boolean matchesNormalized(CustomItem item, String normalizedQuery, boolean searchAll) {
+        // Search name, description, and lore, or only name
+        return (searchAll ? item.getFullTextKey() : item.getNameKey()).contains(normalizedQuery);
+    }
+}
@@ -0,0 +1,248 @@
+package com.self.itemlist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A parsed search box query. Terms are separated by spaces and must all match:
+ * <ul>
+ *     <li>{@code word} - the name contains the word (with a leading '#' on the query, the
+ *     description and lore count too)</li>
+ *     <li>{@code "a phrase"} - same, for text with spaces</li>
+ *     <li>{@code @category} - the item has that category, ignoring case</li>
+ *     <li>{@code $word} - the name, description or lore contains the word</li>
+ *     <li>{@code mat:minecraft:diamond} - the item is made of that material; the namespace may be left out</li>
+ *     <li>{@code has:recipe} - the item has a crafting recipe</li>
+ *     <li>{@code uses:enchanted_diamond} - one of the item's recipes uses that item or material</li>
+ *     <li>{@code -term} - any of the above, negated</li>
+ * </ul>
+ * Running a query starts from the smallest candidate list any positive term can get from an index
+ * (category bitmap, material map or trigram postings) and checks every term only on those items.
+ */
+public class SearchQuery {
+    private enum Kind { NAME, TEXT, CATEGORY, MATERIAL, HAS_RECIPE, USES, NOTHING }
+
+    private static final class Term {
+        final Kind kind;
+        final String value;
+        final boolean negated;
+        final boolean plain;
+
+        Term(Kind kind, String value, boolean negated, boolean plain) {
+            this.kind = kind;
+            this.value = value;
+            this.negated = negated;
+            this.plain = plain;
+        }
+    }
+
+    private final List<Term> terms;
+
+    private SearchQuery(List<Term> terms) {
+        this.terms = terms;
+    }
+
+    public static SearchQuery parse(String query) {
+        String text = query == null ? "" : query;
+        boolean searchAll = text.startsWith("#");
+        if (searchAll) {
+            text = text.substring(1);
+        }
+
+        List<Term> terms = new ArrayList<>();
+        int pos = 0;
+        while (pos < text.length()) {
+            if (Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+                continue;
+            }
+
+            boolean negated = false;
+            if (text.charAt(pos) == '-' && pos + 1 < text.length() && !Character.isWhitespace(text.charAt(pos + 1))) {
+                negated = true;
+                pos++;
+            }
+
+            Kind kind = searchAll ? Kind.TEXT : Kind.NAME;
+            int valueStart = pos;
+            if (text.charAt(pos) == '@') {
+                kind = Kind.CATEGORY;
+                pos++;
+            } else if (text.charAt(pos) == '$') {
+                kind = Kind.TEXT;
+                pos++;
+            } else if (text.startsWith("mat:", pos)) {
+                kind = Kind.MATERIAL;
+                pos += 4;
+            } else if (text.startsWith("has:", pos)) {
+                kind = Kind.HAS_RECIPE;
+                pos += 4;
+            } else if (text.startsWith("uses:", pos)) {
+                kind = Kind.USES;
+                pos += 5;
+            }
+            boolean plain = !negated && pos == valueStart;
+
+            String value;
+            if (pos < text.length() && text.charAt(pos) == '"') {
+                int close = text.indexOf('"', pos + 1);
+                int end = close < 0 ? text.length() : close;
+                value = text.substring(pos + 1, end);
+                pos = close < 0 ? end : close + 1;
+                plain = false;
+            } else {
+                int end = pos;
+                while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+                    end++;
+                }
+                value = text.substring(pos, end);
+                pos = end;
+            }
+
+            Term term = createTerm(kind, value, negated, plain);
+            if (term != null) {
+                terms.add(term);
+            }
+        }
+        return new SearchQuery(terms);
+    }
+
+    private static Term createTerm(Kind kind, String value, boolean negated, boolean plain) {
+        switch (kind) {
+            case NAME:
+            case TEXT:
+                String normalized = SearchText.normalize(value);
+                return normalized.isEmpty() ? null : new Term(kind, normalized, negated, plain);
+            case CATEGORY:
+                String category = value.trim();
+                return category.isEmpty() ? null : new Term(kind, category, negated, false);
+            case MATERIAL:
+            case USES:
+                String id = value.trim().toLowerCase(Locale.ROOT);
+                return id.isEmpty() ? null : new Term(kind, id, negated, false);
+            case HAS_RECIPE:
+                String feature = value.trim().toLowerCase(Locale.ROOT);
+                if (feature.isEmpty()) {
+                    return null;
+                }
+                // Only recipes can be asked for so far; anything else matches nothing
+                boolean known = feature.equals("recipe") || feature.equals("recipes");
+                return new Term(known ? Kind.HAS_RECIPE : Kind.NOTHING, feature, negated, false);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * True if the query is just words with none of the syntax above. Such queries keep the old
+     * meaning of one substring, spaces included, and can use {@link SearchIndex} directly.
+     */
+    public boolean isPlain() {
+        for (Term term : terms) {
+            if (!term.plain) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The matching items of {@code catalog} in catalog order.
+     */
+    public List<CustomItem> run(Catalog catalog, BooleanSupplier cancelled) {
+        List<CustomItem> items = catalog.getItems();
+        if (terms.isEmpty()) {
+            return items;
+        }
+
+        // Drive from the smallest candidate list any positive term can supply
+        int[] driver = null;
+        for (Term term : terms) {
+            if (term.negated) {
+                continue;
+            }
+            int[] candidates = candidates(catalog, term);
+            if (candidates != null && (driver == null || candidates.length < driver.length)) {
+                driver = candidates;
+                if (driver.length == 0) {
+                    return List.of();
+                }
+            }
+        }
+
+        List<CustomItem> results = new ArrayList<>();
+        int count = driver != null ? driver.length : items.size();
+        for (int i = 0; i < count; i++) {
+            SearchIndex.checkCancelled(i, cancelled);
+            int ordinal = driver != null ? driver[i] : i;
+            CustomItem item = items.get(ordinal);
+            if (matches(catalog, item, ordinal)) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Checks a single item of {@code catalog} against every term.
+     */
+    public boolean matches(Catalog catalog, CustomItem item) {
+        return matches(catalog, item, catalog.ordinalOf(item));
+    }
+
+    private boolean matches(Catalog catalog, CustomItem item, int ordinal) {
+        for (Term term : terms) {
+            if (test(catalog, item, ordinal, term) == term.negated) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorted ordinals that are a superset of the term's matches, or null if no index applies.
+     */
+    private static int[] candidates(Catalog catalog, Term term) {
+        switch (term.kind) {
+            case NAME:
+                return catalog.getSearchIndex().nameCandidates(term.value);
+            case TEXT:
+                return catalog.getSearchIndex().textCandidates(term.value);
+            case CATEGORY:
+                int category = catalog.getCategoryIndex().find(term.value);
+                return category < 0 ? new int[0] : catalog.getCategoryIndex().itemsIn(category);
+            case MATERIAL:
+                return catalog.getMaterialIndex().withMaterial(term.value);
+            case HAS_RECIPE:
+                return catalog.getMaterialIndex().withRecipes();
+            case USES:
+                return catalog.getMaterialIndex().usingIngredient(term.value);
+            case NOTHING:
+                return new int[0];
+            default:
+                return null;
+        }
+    }
+
+    private static boolean test(Catalog catalog, CustomItem item, int ordinal, Term term) {
+        switch (term.kind) {
+            case NAME:
+                return item.getNameKey().contains(term.value);
+            case TEXT:
+                return item.getFullTextKey().contains(term.value);
+            case CATEGORY:
+                return catalog.getCategoryIndex().has(ordinal, catalog.getCategoryIndex().find(term.value));
+            case MATERIAL:
+            case USES:
+            case HAS_RECIPE:
+                // Answered by the index; a short sorted list, so a binary search is cheap
+                int[] matching = candidates(catalog, term);
+                return ordinal >= 0 && Arrays.binarySearch(matching, ordinal) >= 0;
+            default:
+                return false;
+        }
+    }
+}
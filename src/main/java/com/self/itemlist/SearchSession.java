@@ -0,0 +1,84 @@
+package com.self.itemlist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Remembers the previous query of one search box. When the next query still contains the previous
+ * one (the usual case while typing), only the previous results can match, so just those are
+ * re-checked instead of searching the whole catalog again.
+ */
+public class SearchSession {
+    private long catalogVersion = -1;
+    private boolean lastSearchAll = false;
+    private String lastQuery = null;
+    private List<CustomItem> lastResults = null;
+
+    /**
+     * Same results as {@link ItemRegistry#searchItems(String)}, in catalog order.
+     */
+    public List<CustomItem> search(String query) {
+        return search(query, () -> false);
+    }
+
+    /**
+     * Cancellable variant; throws {@link java.util.concurrent.CancellationException} once
+     * {@code cancelled} returns true, leaving the remembered state untouched.
+     */
+    public List<CustomItem> search(String query, BooleanSupplier cancelled) {
+        return search(ItemRegistry.getCatalog(), query, cancelled);
+    }
+
+    /**
+     * Searches a specific catalog, so callers can filter the results against the same snapshot.
+     */
+    public List<CustomItem> search(Catalog catalog, String query, BooleanSupplier cancelled) {
+        SearchQuery parsed = SearchQuery.parse(query);
+        if (!parsed.isPlain()) {
+            // Structured queries are planned against the indexes instead of refined
+            reset();
+            return parsed.run(catalog, cancelled);
+        }
+
+        boolean searchAll = query != null && query.startsWith("#");
+        String actualQuery = query == null ? "" : searchAll ? query.substring(1) : query;
+        String normalized = SearchText.normalize(actualQuery);
+
+        List<CustomItem> results;
+        if (canRefine(catalog, normalized, searchAll)) {
+            results = new ArrayList<>();
+            for (int i = 0; i < lastResults.size(); i++) {
+                SearchIndex.checkCancelled(i, cancelled);
+                CustomItem item = lastResults.get(i);
+                if (SearchIndex.matchesNormalized(item, normalized, searchAll)) {
+                    results.add(item);
+                }
+            }
+        } else {
+            // Backspace, an unrelated edit or a new catalog: start from the index again
+            results = catalog.getSearchIndex().searchNormalized(normalized, searchAll, cancelled);
+        }
+
+        catalogVersion = catalog.getVersion();
+        lastSearchAll = searchAll;
+        lastQuery = normalized;
+        lastResults = results;
+        return results;
+    }
+
+    private boolean canRefine(Catalog catalog, String normalized, boolean searchAll) {
+        return lastResults != null
+                && catalog.getVersion() == catalogVersion
+                && searchAll == lastSearchAll
+                // An empty previous query matched everything, so the index is the better start
+                && !lastQuery.isEmpty()
+                && normalized.contains(lastQuery);
+    }
+
+    public void reset() {
+        catalogVersion = -1;
+        lastQuery = null;
+        lastResults = null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.self.itemlist;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalization shared by search keys and queries: Minecraft formatting codes removed,
+ * accents folded away and everything lower-cased, so "\u00A7bEnchanted Diamond" and
+ * "enchanted diamond" compare equal.
+ */
+public class SearchText {
+    // Joins fields in a full-text key; never typed by users, so no match can span two fields
+    public static final char FIELD_SEPARATOR = '\u0000';
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder stripped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\u00A7') {
+                // Skip the code character too
+                i++;
+                continue;
+            }
+            stripped.append(c);
+        }
+
+        String decomposed = Normalizer.normalize(stripped, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK || type == Character.ENCLOSING_MARK) {
+                continue;
+            }
+            folded.append(c);
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bitmask of the characters in {@code key} from {@code from} on, one bit per character code
+     * modulo 64. Characters sharing a bit make it coarser but never wrong: if a character's bit
+     * is missing, the character is missing.
+     */
+    public static long charMask(String key, int from) {
+        long mask = 0;
+        for (int i = from; i < key.length(); i++) {
+            mask |= 1L << (key.charAt(i) & 63);
+        }
+        return mask;
+    }
+
+    /**
+     * Name, description and lore lines normalized and joined with {@link #FIELD_SEPARATOR}.
+     */
+    public static String fullTextKey(String nameKey, String description, List<String> lore) {
+        StringBuilder key = new StringBuilder(nameKey);
+        key.append(FIELD_SEPARATOR).append(normalize(description));
+        for (String line : lore) {
+            key.append(FIELD_SEPARATOR).append(normalize(line));
+        }
+        return key.toString();
+    }
+}
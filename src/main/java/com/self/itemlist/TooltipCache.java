@@ -0,0 +1,191 @@
+package com.self.itemlist;
+
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wrapped, styled tooltip lines and info box layouts per item, built the first time an item is
+ * hovered and reused until the catalog changes. Only used on the client thread.
+ */
+public class TooltipCache {
+    private static final int CAPACITY = 256;
+
+    private static long catalogVersion = -1;
+    private static final Map<CustomItem, Entry<List<OrderedText>>> tooltips = newLru();
+    private static final Map<CustomItem, Entry<InfoBox>> infoBoxes = newLru();
+
+    private static final class Entry<T> {
+        final int maxWidth;
+        final T value;
+
+        Entry(int maxWidth, T value) {
+            this.maxWidth = maxWidth;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Pre-wrapped text for an info box: the name line, then every other line with its offset below
+     * the top of the body.
+     */
+    public static class InfoBox {
+        private final OrderedText name;
+        private final List<OrderedText> lines;
+        private final int[] offsets;
+
+        InfoBox(OrderedText name, List<OrderedText> lines, int[] offsets) {
+            this.name = name;
+            this.lines = lines;
+            this.offsets = offsets;
+        }
+
+        public OrderedText getName() {
+            return name;
+        }
+
+        public List<OrderedText> getLines() {
+            return lines;
+        }
+
+        public int getOffset(int line) {
+            return offsets[line];
+        }
+    }
+
+    // CustomItem keeps identity equality, so entries are per instance
+    private static <T> Map<CustomItem, Entry<T>> newLru() {
+        return new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CustomItem, Entry<T>> eldest) {
+                return size() > CAPACITY;
+            }
+        };
+    }
+
+    private static void checkCatalog() {
+        long version = ItemRegistry.getCatalog().getVersion();
+        if (version != catalogVersion) {
+            catalogVersion = version;
+            tooltips.clear();
+            infoBoxes.clear();
+        }
+    }
+
+    /**
+     * Overlay tooltip: the name, the description wrapped to {@code maxWidth}, then the lore.
+     */
+    public static List<OrderedText> getTooltip(CustomItem item, TextRenderer textRenderer, int maxWidth) {
+        checkCatalog();
+        Entry<List<OrderedText>> entry = tooltips.get(item);
+        if (entry != null && entry.maxWidth == maxWidth) {
+            return entry.value;
+        }
+
+        List<OrderedText> lines = new ArrayList<>();
+        lines.add(styled(item.getName()).asOrderedText());
+        if (!item.getDescription().isEmpty()) {
+            lines.add(OrderedText.EMPTY);
+            lines.addAll(textRenderer.wrapLines(styled(item.getDescription()), maxWidth));
+        }
+        if (!item.getLore().isEmpty()) {
+            lines.add(OrderedText.EMPTY);
+            for (String loreLine : item.getLore()) {
+                lines.add(styled(loreLine).asOrderedText());
+            }
+        }
+
+        List<OrderedText> tooltip = List.copyOf(lines);
+        tooltips.put(item, new Entry<>(maxWidth, tooltip));
+        return tooltip;
+    }
+
+    /**
+     * Recipe viewer info box: description and lore wrapped to {@code maxWidth}, 5 pixels apart,
+     * and how to obtain the item when it has no recipe.
+     */
+    public static InfoBox getInfoBox(CustomItem item, TextRenderer textRenderer, int maxWidth) {
+        checkCatalog();
+        Entry<InfoBox> entry = infoBoxes.get(item);
+        if (entry != null && entry.maxWidth == maxWidth) {
+            return entry.value;
+        }
+
+        List<Text> paragraphs = new ArrayList<>();
+        paragraphs.add(styled("Description: " + item.getDescription()));
+        for (String loreLine : item.getLore()) {
+            paragraphs.add(styled(loreLine));
+        }
+        if (item.getRecipes().isEmpty()) {
+            paragraphs.add(styled("How to obtain: " + item.getObtain()));
+        }
+
+        List<OrderedText> lines = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        int y = 0;
+        for (Text paragraph : paragraphs) {
+            for (OrderedText line : textRenderer.wrapLines(paragraph, maxWidth)) {
+                lines.add(line);
+                offsets.add(y);
+                y += textRenderer.fontHeight;
+            }
+            y += 5;
+        }
+        int[] offsetArray = new int[offsets.size()];
+        for (int i = 0; i < offsetArray.length; i++) {
+            offsetArray[i] = offsets.get(i);
+        }
+
+        InfoBox box = new InfoBox(styled(item.getName()).asOrderedText(), List.copyOf(lines), offsetArray);
+        infoBoxes.put(item, new Entry<>(maxWidth, box));
+        return box;
+    }
+
+    /**
+     * Turns legacy formatting codes (a section sign and a code character) into styled text. A
+     * color code resets the other formatting, as in vanilla; unknown codes are dropped.
+     */
+    public static MutableText styled(String raw) {
+        MutableText result = Text.empty();
+        if (raw.indexOf('\u00A7') < 0) {
+            return result.append(raw);
+        }
+
+        Style style = Style.EMPTY;
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\u00A7' || i + 1 >= raw.length()) {
+                segment.append(c);
+                continue;
+            }
+            if (segment.length() > 0) {
+                result.append(Text.literal(segment.toString()).setStyle(style));
+                segment.setLength(0);
+            }
+            Formatting formatting = Formatting.byCode(raw.charAt(++i));
+            if (formatting == null) {
+                continue;
+            }
+            if (formatting == Formatting.RESET) {
+                style = Style.EMPTY;
+            } else if (formatting.isColor()) {
+                style = Style.EMPTY.withFormatting(formatting);
+            } else {
+                style = style.withFormatting(formatting);
+            }
+        }
+        if (segment.length() > 0) {
+            result.append(Text.literal(segment.toString()).setStyle(style));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.self.itemlist;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inverted index from three-character substrings to the ordinals of the items containing them.
+ * Any substring query of three or more characters can only match items that appear in the posting
+ * list of every trigram of the query, so those lists give a small candidate set to verify.
+ */
+public class TrigramIndex {
+    private static final int[] NO_ITEMS = new int[0];
+
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(Map<Long, int[]> postings) {
+        this.postings = postings;
+    }
+
+    private static long key(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * Sorted ordinals of the items that may contain {@code text}, or null if the text is too
+     * short to use the index and every item has to be checked.
+     */
+    public int[] candidates(String text) {
+        if (text.length() < 3) {
+            return null;
+        }
+
+        int count = text.length() - 2;
+        int[][] lists = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int[] list = postings.get(key(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+            if (list == null) {
+                return NO_ITEMS;
+            }
+            lists[i] = list;
+        }
+
+        // Intersect starting from the rarest trigram so the working set is as small as possible
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                result = intersect(result, lists[i]);
+            }
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] small, int[] large) {
+        int[] out = new int[small.length];
+        int size = 0;
+        int j = 0;
+        for (int value : small) {
+            // Jump ahead in the larger list with a binary search instead of stepping through it
+            int found = Arrays.binarySearch(large, j, large.length, value);
+            if (found >= 0) {
+                out[size++] = value;
+                j = found + 1;
+            } else {
+                j = -found - 1;
+            }
+            if (j >= large.length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    public static class Builder {
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        /**
+         * Adds the trigrams of {@code text} for an item. Items must be added in ascending ordinal
+         * order; one item may be added several times for different fields.
+         */
+        public void add(int ordinal, String text) {
+            for (int i = 0; i + 2 < text.length(); i++) {
+                postings.computeIfAbsent(key(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)), k -> new Postings())
+                        .add(ordinal);
+            }
+        }
+
+        public TrigramIndex build() {
+            Map<Long, int[]> frozen = new HashMap<>(postings.size() * 4 / 3 + 1);
+            for (Map.Entry<Long, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                frozen.put(entry.getKey(), Arrays.copyOf(list.data, list.size));
+            }
+            return new TrigramIndex(frozen);
+        }
+    }
+
+    private static class Postings {
+        int[] data = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            // Ordinals arrive in order, so a repeat can only be the last entry
+            if (size > 0 && data[size - 1] == ordinal) {
+                return;
+            }
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = ordinal;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.self.itemlist.mixin;
 
+import com.self.itemlist.CustomItem;
 import com.self.itemlist.ItemListScreen;
 import com.self.itemlist.IngredientUsageScreen;
 import com.self.itemlist.ItemRegistry;
@@ -35,6 +36,20 @@ public class HandledScreenMixin {
         }
     }
 
+    @Inject(method = "mouseDragged", at = @At("HEAD"), cancellable = true)
+    private void onMouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY, CallbackInfoReturnable<Boolean> cir) {
+        if (ItemListScreen.mouseDragged(mouseX, mouseY, button)) {
+            cir.setReturnValue(true);
+        }
+    }
+
+    @Inject(method = "mouseReleased", at = @At("HEAD"), cancellable = true)
+    private void onMouseReleased(double mouseX, double mouseY, int button, CallbackInfoReturnable<Boolean> cir) {
+        if (ItemListScreen.mouseReleased(mouseX, mouseY, button)) {
+            cir.setReturnValue(true);
+        }
+    }
+
     @Inject(method = "keyPressed", at = @At("HEAD"), cancellable = true)
     private void onKeyPressed(int keyCode, int scanCode, int modifiers, CallbackInfoReturnable<Boolean> cir) {
         if (keyCode == GLFW.GLFW_KEY_T) {
@@ -45,13 +60,11 @@ public class HandledScreenMixin {
                 ItemStack stack = hoveredSlot.getStack();
                 if (stack.getItem() == Items.DIAMOND && stack.getName().getString().equals("Enchanted Diamond")) {
                     // Find the custom item for enchanted diamond
-                    ItemRegistry.getAllItems().stream()
-                        .filter(item -> item.getId().equals("enchanted_diamond"))
-                        .findFirst()
-                        .ifPresent(customItem -> {
-                            MinecraftClient.getInstance().setScreen(new IngredientUsageScreen(customItem, screen));
-                            cir.setReturnValue(true);
-                        });
+                    CustomItem customItem = ItemRegistry.getItemById("enchanted_diamond");
+                    if (customItem != null) {
+                        MinecraftClient.getInstance().setScreen(new IngredientUsageScreen(customItem, screen));
+                        cir.setReturnValue(true);
+                    }
                 }
             }
         }